@@ -51,7 +51,7 @@ public class AiChatController {
             String userId = authentication == null ? "anonymous" : authentication.getName();
             AiChatService.ChatResult result = aiChatService.chat(userId, request.conversationId(), prompt);
             String reply = result.reply();
-            ChatResponse response = new ChatResponse(request.prompt(), reply);
+            ChatResponse response = new ChatResponse(result.conversationId(), request.prompt(), reply);
             eventProducer.publishChatResponse(response);
             return ResponseEntity.ok(new ApiChatResponse(
                     result.conversationId(),
@@ -84,7 +84,7 @@ public class AiChatController {
                     }
                 });
                 String reply = result.reply();
-                eventProducer.publishChatResponse(new ChatResponse(request.prompt(), reply));
+                eventProducer.publishChatResponse(new ChatResponse(result.conversationId(), request.prompt(), reply));
             } catch (java.io.UncheckedIOException ignored) {
                 // Client closed the stream; avoid routing to /error after response commit.
             } finally {
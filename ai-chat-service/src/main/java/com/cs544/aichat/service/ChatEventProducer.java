@@ -4,18 +4,17 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.cs544.aichat.event.EventEnvelope;
 
 @Service
 public class ChatEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaEventPublisher eventPublisher;
     private final AiChatMetrics metrics;
 
-    public ChatEventProducer(KafkaTemplate<String, Object> kafkaTemplate, AiChatMetrics metrics) {
-        this.kafkaTemplate = kafkaTemplate;
+    public ChatEventProducer(KafkaEventPublisher eventPublisher, AiChatMetrics metrics) {
+        this.eventPublisher = eventPublisher;
         this.metrics = metrics;
     }
 
@@ -28,10 +27,10 @@ public class ChatEventProducer {
                 Map.of("schema", "v1"),
                 response
         );
-        kafkaTemplate.send("ai-chat.events", envelope.eventType(), envelope);
+        eventPublisher.publish("ai-chat.events", response.conversationId(), envelope);
         metrics.incrementKafkaEvent(envelope.eventType());
     }
 
-    public record ChatResponse(String prompt, String reply) {
+    public record ChatResponse(String conversationId, String prompt, String reply) {
     }
 }
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Sorts;
 
 @Service
@@ -63,6 +64,7 @@ public class SystemRagContextService {
                 .sort(Sorts.descending("createdAt"))
                 .limit(60)
                 .into(new ArrayList<>());
+        attachTaskCollection(releases);
         if (releases.isEmpty()) {
             return "No release records found.";
         }
@@ -142,6 +144,7 @@ public class SystemRagContextService {
                 .sort(Sorts.descending("createdAt"))
                 .limit(60)
                 .into(new ArrayList<>());
+        attachTaskCollection(releases);
 
         List<TaskSummaryItem> items = new ArrayList<>();
         int inProcess = 0;
@@ -217,6 +220,7 @@ public class SystemRagContextService {
                 .sort(Sorts.descending("createdAt"))
                 .limit(40)
                 .into(new ArrayList<>());
+        attachTaskCollection(candidates);
         List<Document> docs = pickTopRelevant(candidates, terms, userId, releaseLimit, "tasks.assigneeId");
         if (docs.isEmpty()) {
             return "Releases: no matching release/task records.";
@@ -233,12 +237,16 @@ public class SystemRagContextService {
             userTasks.addAll(tasks.stream()
                     .filter(task -> matchesUser(stringValue(task.get("assigneeId")), userId))
                     .collect(Collectors.toList()));
-            long inProcess = tasks.stream()
-                    .filter(task -> "IN_PROCESS".equals(stringValue(task.get("status"))))
-                    .count();
+            // Releases carry their status counters; recount only documents written before they existed.
+            long inProcess = doc.get("inProcessCount") instanceof Number stored
+                    ? stored.longValue()
+                    : tasks.stream().filter(task -> "IN_PROCESS".equals(stringValue(task.get("status")))).count();
+            long taskCount = doc.get("todoCount") instanceof Number todo && doc.get("completedCount") instanceof Number done
+                    ? todo.longValue() + inProcess + done.longValue()
+                    : tasks.size();
             lines.add(String.format(
                     "Release %s (%s v%s) completed=%s tasks=%d in_process=%d",
-                    releaseId, name, version, completed, tasks.size(), inProcess
+                    releaseId, name, version, completed, taskCount, inProcess
             ));
 
             tasks.stream()
@@ -326,6 +334,21 @@ public class SystemRagContextService {
         return "Notifications:\n" + String.join("\n", lines);
     }
 
+    // release-service may keep tasks in a separate collection (release.tasks.storage=collection).
+    private void attachTaskCollection(List<Document> releases) {
+        Map<String, Document> withoutTasks = releases.stream()
+                .filter(release -> !release.containsKey("tasks"))
+                .collect(Collectors.toMap(release -> stringValue(release.get("_id")), release -> release));
+        if (withoutTasks.isEmpty()) {
+            return;
+        }
+        withoutTasks.values().forEach(release -> release.put("tasks", new ArrayList<Document>()));
+        mongoClient.getDatabase(releasesDb).getCollection("tasks")
+                .find(Filters.in("releaseId", withoutTasks.keySet()))
+                .sort(Sorts.ascending("releaseId", "orderIndex"))
+                .forEach(task -> withoutTasks.get(task.getString("releaseId")).getList("tasks", Document.class).add(task));
+    }
+
     private List<String> extractTerms(String prompt) {
         if (prompt == null || prompt.isBlank()) {
             return List.of();
@@ -4,7 +4,6 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.cs544.discussion.event.EventEnvelope;
@@ -12,11 +11,11 @@ import com.cs544.discussion.model.DiscussionMessage;
 
 @Service
 public class DiscussionEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaEventPublisher eventPublisher;
     private final DiscussionMetrics metrics;
 
-    public DiscussionEventProducer(KafkaTemplate<String, Object> kafkaTemplate, DiscussionMetrics metrics) {
-        this.kafkaTemplate = kafkaTemplate;
+    public DiscussionEventProducer(KafkaEventPublisher eventPublisher, DiscussionMetrics metrics) {
+        this.eventPublisher = eventPublisher;
         this.metrics = metrics;
     }
 
@@ -29,7 +28,15 @@ public class DiscussionEventProducer {
                 Map.of("schema", "v1"),
                 message
         );
-        kafkaTemplate.send("discussion.events", envelope.eventType(), envelope);
+        eventPublisher.publish("discussion.events", partitionKey(message), envelope);
         metrics.incrementKafkaEvent(envelope.eventType());
     }
+
+    // Messages of one task share a partition so their order is kept; release-level threads fall back to the release.
+    private String partitionKey(DiscussionMessage message) {
+        if (message.getTaskId() != null && !message.getTaskId().isBlank()) {
+            return message.getTaskId();
+        }
+        return message.getReleaseId();
+    }
 }
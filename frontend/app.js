@@ -1147,9 +1147,9 @@ const App = () => {
                     ? [...release.tasks].sort((a, b) => a.orderIndex - b.orderIndex)
                     : [];
                   const releaseAllCompleted =
-                    releaseTasks.length > 0
-                      ? releaseTasks.every((task) => task.status === "COMPLETED")
-                      : false;
+                    typeof release.completedCount === "number"
+                      ? release.completedCount > 0 && release.todoCount + release.inProcessCount === 0
+                      : releaseTasks.length > 0 && releaseTasks.every((task) => task.status === "COMPLETED");
 
                   return (
                     <div
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Runs the same open-loop workload against the stack with platform threads and with virtual threads,
+# stepping up the arrival rate, and writes one latency report per mode and rate plus a summary.
+#
+#   load-generator/compare-thread-modes.sh            # rates 50 100 200 400 req/s per action
+#   RATES="100 300 900" DURATION=120 load-generator/compare-thread-modes.sh
+#
+# Requires docker compose, Maven and JDK 21 on the host. Reports go to load-generator/results/<timestamp>/.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RATES=${RATES:-"50 100 200 400"}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+DEVELOPERS=${DEVELOPERS:-200}
+TOMCAT_MAX_THREADS=${TOMCAT_MAX_THREADS:-200}
+RESULTS=load-generator/results/$(date -u +%Y%m%dT%H%M%SZ)
+COMPOSE=(docker compose -f docker-compose.yml -f load-generator/docker-compose.ollama-stub.yml)
+
+mkdir -p "$RESULTS"
+mvn -q -f load-generator/pom.xml -DskipTests package
+JAR=$(ls load-generator/target/load-generator-*.jar | grep -v '\.original$' | head -n 1)
+
+wait_for_release_service() {
+  for _ in $(seq 1 90); do
+    if curl -sf http://localhost:8081/actuator/health > /dev/null; then
+      return 0
+    fi
+    sleep 2
+  done
+  echo "release-service did not become healthy" >&2
+  exit 1
+}
+
+for mode in platform virtual; do
+  virtual=false
+  if [ "$mode" = virtual ]; then
+    virtual=true
+  fi
+  VIRTUAL_THREADS_ENABLED=$virtual TOMCAT_MAX_THREADS=$TOMCAT_MAX_THREADS "${COMPOSE[@]}" up -d --build
+  wait_for_release_service
+
+  for rate in $RATES; do
+    echo "== $mode threads, $rate req/s per action"
+    LOADGEN_OLLAMA_STUB=true \
+    LOADGEN_DEVELOPERS=$DEVELOPERS \
+    LOADGEN_WARMUP_SECONDS=$WARMUP \
+    LOADGEN_DURATION_SECONDS=$DURATION \
+    LOADGEN_RATE_WORKFLOW=$rate \
+    LOADGEN_RATE_MY_TASKS=$rate \
+    LOADGEN_RATE_COMMENTS=$rate \
+    LOADGEN_RATE_CHAT=$(( rate / 20 > 0 ? rate / 20 : 1 )) \
+    LOADGEN_REPORT_FILE="$RESULTS/$mode-$rate.txt" \
+      java -jar "$JAR"
+    curl -s http://localhost:8081/actuator/prometheus | grep '^jvm_threads_live_threads' \
+      > "$RESULTS/$mode-$rate.threads.txt" || true
+  done
+done
+
+{
+  echo "Thread mode comparison: ${DURATION}s per step after ${WARMUP}s warm-up, $DEVELOPERS developers," \
+       "Tomcat pool $TOMCAT_MAX_THREADS for platform threads"
+  for rate in $RATES; do
+    for mode in platform virtual; do
+      echo
+      echo "## $mode threads, $rate req/s per action ($(cat "$RESULTS/$mode-$rate.threads.txt" 2>/dev/null))"
+      cat "$RESULTS/$mode-$rate.txt"
+    done
+  done
+} > "$RESULTS/summary.txt"
+
+echo "Summary written to $RESULTS/summary.txt"
@@ -0,0 +1,91 @@
+package com.cs544.loadgen;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// One simulated developer working through the tasks of their own release in orderIndex order.
+// Guarded by lock: a developer sends at most one workflow request at a time.
+final class DeveloperLane {
+    final String username;
+    final String token;
+    final String releaseId;
+    final ReentrantLock lock = new ReentrantLock();
+    private final List<String> taskIds = new ArrayList<>();
+    private int next;
+    private boolean inProgress;
+    private volatile String conversationId;
+
+    DeveloperLane(String username, String token, String releaseId) {
+        this.username = username;
+        this.token = token;
+        this.releaseId = releaseId;
+    }
+
+    // Realigns with the stored release, e.g. after a request whose outcome is unknown.
+    void sync(JsonNode release) {
+        List<JsonNode> tasks = new ArrayList<>();
+        release.path("tasks").forEach(tasks::add);
+        tasks.sort(Comparator.comparingInt(task -> task.path("orderIndex").asInt()));
+        taskIds.clear();
+        next = tasks.size();
+        inProgress = false;
+        for (int i = 0; i < tasks.size(); i++) {
+            JsonNode task = tasks.get(i);
+            taskIds.add(task.path("id").asText());
+            String status = task.path("status").asText();
+            if (next == tasks.size() && !"COMPLETED".equals(status)) {
+                next = i;
+                inProgress = "IN_PROCESS".equals(status);
+            }
+        }
+    }
+
+    boolean exhausted() {
+        return next >= taskIds.size();
+    }
+
+    boolean inProgress() {
+        return inProgress;
+    }
+
+    String currentTaskId() {
+        return taskIds.get(next);
+    }
+
+    int nextOrderIndex() {
+        return taskIds.size() + 1;
+    }
+
+    void added(String taskId) {
+        taskIds.add(taskId);
+    }
+
+    void started() {
+        inProgress = true;
+    }
+
+    void completed() {
+        inProgress = false;
+        next++;
+    }
+
+    // The task most recently worked on, for comments; null before any task exists.
+    String recentTaskId() {
+        if (taskIds.isEmpty()) {
+            return null;
+        }
+        return taskIds.get(Math.min(next, taskIds.size() - 1));
+    }
+
+    String conversationId() {
+        return conversationId;
+    }
+
+    void conversationId(String conversationId) {
+        this.conversationId = conversationId;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cs544.loadgen;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+// Per-endpoint latency histograms. Latency runs from the scheduled send time, not the actual one,
+// so requests queued behind a slow server are not left out (coordinated omission).
+@Component
+public class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> skipped = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    // An arrival that found its simulated developer still busy with the previous request.
+    public void skip(String action) {
+        skipped.computeIfAbsent(action, key -> new LongAdder()).increment();
+    }
+
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        skipped.values().forEach(LongAdder::reset);
+    }
+
+    public String render(Duration elapsed) {
+        double seconds = Math.max(1, elapsed.toMillis()) / 1000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, Recorder> entry : new TreeMap<>(recorders).entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            report.append(String.format("%-40s %9d %7d %9.1f", entry.getKey(), count,
+                    errors.getOrDefault(entry.getKey(), new LongAdder()).sum(), count / seconds));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            report.append(String.format(" %9.2f%n", histogram.getMaxValue() / 1000.0));
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(skipped).entrySet()) {
+            report.append(String.format("skipped %s: %d (developer busy)%n", entry.getKey(), entry.getValue().sum()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package com.cs544.loadgen;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Open-loop run: each action arrives at its configured rate whether or not earlier requests have
+// returned, every request runs on its own virtual thread, and histograms restart after the warm-up.
+@Component
+public class LoadRunner implements CommandLineRunner {
+    public enum Arrival {
+        CONSTANT,
+        POISSON
+    }
+
+    private final Workload workload;
+    private final LatencyReport report;
+    private final ObjectMapper objectMapper;
+    private final Arrival arrival;
+    private final Duration warmup;
+    private final Duration duration;
+    private final double workflowRate;
+    private final double myTasksRate;
+    private final double commentRate;
+    private final double chatRate;
+    private final boolean ollamaStubEnabled;
+    private final int ollamaStubPort;
+    private final long ollamaStubDelayMs;
+    private final String reportFile;
+    private volatile boolean running;
+
+    public LoadRunner(
+            Workload workload,
+            LatencyReport report,
+            ObjectMapper objectMapper,
+            @Value("${loadgen.arrival:poisson}") Arrival arrival,
+            @Value("${loadgen.warmup-seconds:10}") long warmupSeconds,
+            @Value("${loadgen.duration-seconds:60}") long durationSeconds,
+            @Value("${loadgen.rate.workflow:40}") double workflowRate,
+            @Value("${loadgen.rate.my-tasks:20}") double myTasksRate,
+            @Value("${loadgen.rate.comments:20}") double commentRate,
+            @Value("${loadgen.rate.chat:2}") double chatRate,
+            @Value("${loadgen.ollama-stub.enabled:false}") boolean ollamaStubEnabled,
+            @Value("${loadgen.ollama-stub.port:11435}") int ollamaStubPort,
+            @Value("${loadgen.ollama-stub.delay-ms:250}") long ollamaStubDelayMs,
+            @Value("${loadgen.report-file:}") String reportFile
+    ) {
+        this.workload = workload;
+        this.report = report;
+        this.objectMapper = objectMapper;
+        this.arrival = arrival;
+        this.warmup = Duration.ofSeconds(warmupSeconds);
+        this.duration = Duration.ofSeconds(durationSeconds);
+        this.workflowRate = workflowRate;
+        this.myTasksRate = myTasksRate;
+        this.commentRate = commentRate;
+        this.chatRate = chatRate;
+        this.ollamaStubEnabled = ollamaStubEnabled;
+        this.ollamaStubPort = ollamaStubPort;
+        this.ollamaStubDelayMs = ollamaStubDelayMs;
+        this.reportFile = reportFile;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        OllamaStub stub = ollamaStubEnabled ? OllamaStub.start(ollamaStubPort, ollamaStubDelayMs, objectMapper) : null;
+        try {
+            long setupFrom = System.nanoTime();
+            workload.setUp(Long.toString(System.currentTimeMillis(), 36));
+            System.out.println("Setup:");
+            System.out.print(report.render(Duration.ofNanos(System.nanoTime() - setupFrom)));
+
+            running = true;
+            List<Thread> pacers = new ArrayList<>();
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                pacers.add(pace("workflow", workflowRate, workload::advanceWorkflow, requests));
+                pacers.add(pace("my-tasks", myTasksRate, workload::listMyTasks, requests));
+                pacers.add(pace("comments", commentRate, workload::comment, requests));
+                pacers.add(pace("chat", chatRate, workload::chat, requests));
+
+                Thread.sleep(warmup.toMillis());
+                report.reset();
+                long measuredFrom = System.nanoTime();
+                Thread.sleep(duration.toMillis());
+                running = false;
+                for (Thread pacer : pacers) {
+                    pacer.join();
+                }
+                Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom);
+                requests.shutdown();
+                requests.awaitTermination(1, TimeUnit.MINUTES);
+                String measuredReport = report.render(measured);
+                System.out.printf("%nMeasured %d s (%s arrivals, after %d s warm-up):%n",
+                        measured.toSeconds(), arrival.name().toLowerCase(), warmup.toSeconds());
+                System.out.print(measuredReport);
+                if (!reportFile.isBlank()) {
+                    Files.writeString(Path.of(reportFile), measuredReport);
+                }
+            }
+        } finally {
+            running = false;
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private Thread pace(String action, double ratePerSecond, LongConsumer task, ExecutorService requests) {
+        return Thread.ofPlatform().name("pacer-" + action).start(() -> {
+            if (ratePerSecond <= 0) {
+                return;
+            }
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            long next = System.nanoTime();
+            while (running) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+                long scheduledAt = next;
+                requests.execute(() -> task.accept(scheduledAt));
+                next += arrival == Arrival.POISSON
+                        ? (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos)
+                        : (long) meanIntervalNanos;
+            }
+        });
+    }
+}
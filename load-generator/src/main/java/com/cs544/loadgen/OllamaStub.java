@@ -0,0 +1,77 @@
+package com.cs544.loadgen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Answers ai-chat-service's /api/generate calls with a canned reply after a fixed delay, so chat load
+// measures the service rather than model inference. Streams NDJSON chunks when asked to, like Ollama.
+final class OllamaStub implements AutoCloseable {
+    private static final String REPLY = "Finish the task that is in progress before starting the next one.";
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper;
+    private final long delayMs;
+
+    private OllamaStub(HttpServer server, ObjectMapper objectMapper, long delayMs) {
+        this.server = server;
+        this.objectMapper = objectMapper;
+        this.delayMs = delayMs;
+    }
+
+    static OllamaStub start(int port, long delayMs, ObjectMapper objectMapper) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        OllamaStub stub = new OllamaStub(server, objectMapper, delayMs);
+        server.createContext("/api/generate", stub::generate);
+        server.createContext("/api/tags", exchange -> stub.respond(exchange, Map.of("models", new Object[0])));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return stub;
+    }
+
+    private void generate(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!request.path("stream").asBoolean(true)) {
+            respond(exchange, Map.of("response", REPLY, "done", true));
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (String word : REPLY.split(" ")) {
+                body.write(objectMapper.writeValueAsBytes(Map.of("response", word + " ", "done", false)));
+                body.write('\n');
+                body.flush();
+            }
+            body.write(objectMapper.writeValueAsBytes(Map.of("response", "", "done", true)));
+            body.write('\n');
+        }
+    }
+
+    private void respond(HttpExchange exchange, Object payload) throws IOException {
+        byte[] body = objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
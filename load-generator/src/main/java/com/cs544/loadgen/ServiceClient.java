@@ -0,0 +1,96 @@
+package com.cs544.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Sends JSON requests and records each one under its endpoint template, e.g. "PATCH /api/tasks/{id}/start".
+@Component
+public class ServiceClient {
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+    private final Duration requestTimeout;
+
+    public ServiceClient(
+            ObjectMapper objectMapper,
+            LatencyReport report,
+            @Value("${loadgen.request-timeout-ms:30000}") long requestTimeoutMs
+    ) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    public JsonNode get(String endpoint, long scheduledAt, String url, String token) {
+        return send(endpoint, scheduledAt, "GET", url, token, null);
+    }
+
+    public JsonNode post(String endpoint, long scheduledAt, String url, String token, Object body) {
+        return send(endpoint, scheduledAt, "POST", url, token, body);
+    }
+
+    public JsonNode patch(String endpoint, long scheduledAt, String url, String token) {
+        return send(endpoint, scheduledAt, "PATCH", url, token, null);
+    }
+
+    // Returns the parsed body of a 2xx response, or null when the request failed.
+    private JsonNode send(String endpoint, long scheduledAt, String method, String url, String token, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+            request.method(method, HttpRequest.BodyPublishers.ofString(toJson(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException ex) {
+            report.record(endpoint, System.nanoTime() - scheduledAt, false);
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        report.record(endpoint, System.nanoTime() - scheduledAt, success);
+        return success ? parse(response.body()) : null;
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return body.isBlank() ? objectMapper.nullNode() : objectMapper.readTree(body);
+        } catch (JsonProcessingException ex) {
+            return objectMapper.getNodeFactory().textNode(body);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Request body cannot be serialized.", ex);
+        }
+    }
+}
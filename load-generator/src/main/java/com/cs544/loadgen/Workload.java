@@ -0,0 +1,204 @@
+package com.cs544.loadgen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// The simulated users: one admin that owns the releases and one lane per developer.
+// Every action takes the nanoTime it was scheduled for, which latency is measured from.
+@Component
+public class Workload {
+    private static final int SETUP_BATCH_SIZE = 500;
+
+    private final ServiceClient client;
+    private final LatencyReport report;
+    private final String authUrl;
+    private final String releaseUrl;
+    private final String discussionUrl;
+    private final String chatUrl;
+    private final String userPrefix;
+    private final String password;
+    private final int developers;
+    private final int tasksPerDeveloper;
+    private final List<DeveloperLane> lanes = new ArrayList<>();
+    private String adminToken;
+
+    public Workload(
+            ServiceClient client,
+            LatencyReport report,
+            @Value("${loadgen.auth-url}") String authUrl,
+            @Value("${loadgen.release-url}") String releaseUrl,
+            @Value("${loadgen.discussion-url}") String discussionUrl,
+            @Value("${loadgen.chat-url}") String chatUrl,
+            @Value("${loadgen.user-prefix:loadgen}") String userPrefix,
+            @Value("${loadgen.password}") String password,
+            @Value("${loadgen.developers:50}") int developers,
+            @Value("${loadgen.tasks-per-developer:20}") int tasksPerDeveloper
+    ) {
+        this.client = client;
+        this.report = report;
+        this.authUrl = authUrl;
+        this.releaseUrl = releaseUrl;
+        this.discussionUrl = discussionUrl;
+        this.chatUrl = chatUrl;
+        this.userPrefix = userPrefix;
+        this.password = password;
+        this.developers = Math.max(1, developers);
+        this.tasksPerDeveloper = Math.max(1, tasksPerDeveloper);
+    }
+
+    // Users are reused across runs; releases are new each run so every lane starts from TODO tasks.
+    public void setUp(String runId) {
+        adminToken = login(userPrefix + "-admin", "ADMIN");
+        for (int i = 0; i < developers; i++) {
+            String username = userPrefix + "-dev-" + i;
+            String token = login(username, "DEVELOPER");
+            JsonNode release = client.post("POST /api/releases", System.nanoTime(), releaseUrl + "/api/releases",
+                    adminToken, Map.of("name", userPrefix + "-" + runId + "-" + i, "version", "1.0"));
+            if (release == null) {
+                throw new IllegalStateException("Could not create a release for " + username + ".");
+            }
+            DeveloperLane lane = new DeveloperLane(username, token, release.path("id").asText());
+            List<Map<String, Object>> tasks = new ArrayList<>();
+            for (int orderIndex = 1; orderIndex <= tasksPerDeveloper; orderIndex++) {
+                tasks.add(taskRequest(username, orderIndex));
+                if (tasks.size() == SETUP_BATCH_SIZE || orderIndex == tasksPerDeveloper) {
+                    release = client.post("POST /api/releases/{id}/tasks/batch", System.nanoTime(),
+                            releaseUrl + "/api/releases/" + lane.releaseId + "/tasks/batch", adminToken, tasks);
+                    if (release == null) {
+                        throw new IllegalStateException("Could not add tasks for " + username + ".");
+                    }
+                    tasks = new ArrayList<>();
+                }
+            }
+            lane.sync(release);
+            lanes.add(lane);
+        }
+    }
+
+    // Starts the developer's next task, completes the one in progress, or has the admin add a task
+    // once the lane has run out.
+    public void advanceWorkflow(long scheduledAt) {
+        DeveloperLane lane = randomLane();
+        if (!lane.lock.tryLock()) {
+            report.skip("workflow");
+            return;
+        }
+        try {
+            if (lane.exhausted()) {
+                addTask(lane, scheduledAt);
+            } else if (!lane.inProgress()) {
+                JsonNode result = client.patch("PATCH /api/tasks/{id}/start", scheduledAt,
+                        releaseUrl + "/api/tasks/" + lane.currentTaskId() + "/start", lane.token);
+                if (result != null) {
+                    lane.started();
+                } else {
+                    resync(lane);
+                }
+            } else {
+                JsonNode result = client.patch("PATCH /api/tasks/{id}/complete", scheduledAt,
+                        releaseUrl + "/api/tasks/" + lane.currentTaskId() + "/complete", lane.token);
+                if (result != null) {
+                    lane.completed();
+                } else {
+                    resync(lane);
+                }
+            }
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    public void listMyTasks(long scheduledAt) {
+        DeveloperLane lane = randomLane();
+        client.get("GET /api/tasks/my", scheduledAt, releaseUrl + "/api/tasks/my?limit=50", lane.token);
+    }
+
+    public void comment(long scheduledAt) {
+        DeveloperLane lane = randomLane();
+        String taskId;
+        lane.lock.lock();
+        try {
+            taskId = lane.recentTaskId();
+        } finally {
+            lane.lock.unlock();
+        }
+        if (taskId == null) {
+            return;
+        }
+        Map<String, String> comment = Map.of(
+                "releaseId", lane.releaseId,
+                "author", lane.username,
+                "message", "Progress update from " + lane.username + " at " + System.currentTimeMillis()
+        );
+        client.post("POST /tasks/{taskId}/comments", scheduledAt,
+                discussionUrl + "/tasks/" + taskId + "/comments", lane.token, comment);
+        client.get("GET /tasks/{taskId}/comments", System.nanoTime(),
+                discussionUrl + "/tasks/" + taskId + "/comments", lane.token);
+    }
+
+    public void chat(long scheduledAt) {
+        DeveloperLane lane = randomLane();
+        Map<String, String> request = new HashMap<>();
+        request.put("prompt", "Which of my tasks should I work on next?");
+        request.put("conversationId", lane.conversationId());
+        JsonNode reply = client.post("POST /api/chat", scheduledAt, chatUrl + "/api/chat", lane.token, request);
+        if (reply != null && reply.hasNonNull("conversationId")) {
+            lane.conversationId(reply.get("conversationId").asText());
+        }
+    }
+
+    private void addTask(DeveloperLane lane, long scheduledAt) {
+        int orderIndex = lane.nextOrderIndex();
+        JsonNode release = client.post("POST /api/releases/{id}/tasks", scheduledAt,
+                releaseUrl + "/api/releases/" + lane.releaseId + "/tasks", adminToken,
+                taskRequest(lane.username, orderIndex));
+        if (release == null) {
+            resync(lane);
+            return;
+        }
+        lane.sync(release);
+    }
+
+    private void resync(DeveloperLane lane) {
+        JsonNode release = client.get("GET /api/releases/{id}", System.nanoTime(),
+                releaseUrl + "/api/releases/" + lane.releaseId, adminToken);
+        if (release != null) {
+            lane.sync(release);
+        }
+    }
+
+    // Logs in through AuthController, registering the user on the first run.
+    private String login(String username, String role) {
+        Map<String, String> credentials = Map.of("username", username, "password", password);
+        JsonNode auth = client.post("POST /auth/login", System.nanoTime(), authUrl + "/auth/login", null, credentials);
+        if (auth == null) {
+            auth = client.post("POST /auth/register", System.nanoTime(), authUrl + "/auth/register", null,
+                    Map.of("username", username, "password", password, "role", role));
+        }
+        if (auth == null || !auth.hasNonNull("token")) {
+            throw new IllegalStateException("Could not log in as " + username + ".");
+        }
+        return auth.get("token").asText();
+    }
+
+    private Map<String, Object> taskRequest(String assigneeId, int orderIndex) {
+        return Map.of(
+                "title", "Load task " + orderIndex,
+                "description", "Generated by the load generator",
+                "assigneeId", assigneeId,
+                "orderIndex", orderIndex
+        );
+    }
+
+    private DeveloperLane randomLane() {
+        return lanes.get(ThreadLocalRandom.current().nextInt(lanes.size()));
+    }
+}
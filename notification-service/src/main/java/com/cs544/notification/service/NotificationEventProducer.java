@@ -4,17 +4,16 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.cs544.notification.event.EventEnvelope;
 
 @Service
 public class NotificationEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaEventPublisher eventPublisher;
 
-    public NotificationEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public NotificationEventProducer(KafkaEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
     }
 
     public void publishSystemError(SystemErrorEvent event) {
@@ -26,6 +25,6 @@ public class NotificationEventProducer {
                 Map.of("schema", "v1"),
                 event
         );
-        kafkaTemplate.send("system.errors", envelope.eventType(), envelope);
+        eventPublisher.publish("system.errors", envelope.source(), envelope);
     }
 }
@@ -0,0 +1,108 @@
+package com.cs544.release.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Linear scans over Release.tasks (the previous workflow checks) against the orderIndex/id index and,
+// for the completion check, the stored status counters.
+// "fresh" variants rebuild the index first, as a request that loads the release from Mongo does.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReleaseTaskIndexBenchmark {
+    @Param({"1000", "10000"})
+    private int taskCount;
+
+    private List<Task> tasks;
+    private Release indexed;
+    private String targetTaskId;
+    private int freeOrderIndex;
+
+    @Setup
+    public void setUp() {
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 1; i <= taskCount; i++) {
+            // Even orderIndexes only, so an odd one can be inserted in the middle.
+            Task task = new Task("Task " + i, "", "dev-" + (i % 50), i * 2);
+            task.setStatus(i < taskCount / 2 ? TaskStatus.COMPLETED : TaskStatus.TODO);
+            tasks.add(task);
+        }
+        Task target = tasks.get(taskCount / 2);
+        targetTaskId = target.getId();
+        freeOrderIndex = target.getOrderIndex() + 1;
+        indexed = new Release("bench", "1.0");
+        indexed.setTasks(new ArrayList<>());
+        indexed.addTasks(tasks);
+        indexed.findTask(targetTaskId);
+    }
+
+    @Benchmark
+    public Task startChecksScan() {
+        Task task = tasks.stream().filter(t -> t.getId().equals(targetTaskId)).findFirst().orElseThrow();
+        int previousIndex = task.getOrderIndex() - 2;
+        return tasks.stream().filter(t -> t.getOrderIndex() == previousIndex).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public Task startChecksIndexed() {
+        Task task = indexed.findTask(targetTaskId);
+        return indexed.findTaskByOrderIndex(task.getOrderIndex() - 2);
+    }
+
+    @Benchmark
+    public Task startChecksIndexedFresh() {
+        Release release = new Release("bench", "1.0");
+        release.setTasks(tasks);
+        Task task = release.findTask(targetTaskId);
+        return release.findTaskByOrderIndex(task.getOrderIndex() - 2);
+    }
+
+    @Benchmark
+    public List<Task> addTaskScan() {
+        List<Task> copy = new ArrayList<>(tasks);
+        if (copy.stream().anyMatch(t -> t.getOrderIndex() == freeOrderIndex)) {
+            throw new IllegalStateException();
+        }
+        copy.add(new Task("New", "", "dev-1", freeOrderIndex));
+        copy.sort(Comparator.comparingInt(Task::getOrderIndex));
+        return copy;
+    }
+
+    @Benchmark
+    public List<Task> addTaskIndexedFresh() {
+        Release release = new Release("bench", "1.0");
+        release.setTasks(new ArrayList<>(tasks));
+        if (release.findTaskByOrderIndex(freeOrderIndex) != null) {
+            throw new IllegalStateException();
+        }
+        release.addTasks(List.of(new Task("New", "", "dev-1", freeOrderIndex)));
+        return release.getTasks();
+    }
+
+    @Benchmark
+    public boolean allCompletedScan() {
+        return tasks.stream().allMatch(t -> t.getStatus() == TaskStatus.COMPLETED);
+    }
+
+    @Benchmark
+    public boolean allCompletedCounters() {
+        return !indexed.hasOpenTasks();
+    }
+}
@@ -0,0 +1,61 @@
+package com.cs544.release.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import com.cs544.release.model.DeveloperActiveTask;
+import com.cs544.release.repository.DeveloperActiveTaskRepository;
+
+// The developer_active_task collection as a map keyed by developer id, for ActiveTaskIndex.
+final class InMemoryActiveTaskRepository implements InvocationHandler {
+    private final Map<String, DeveloperActiveTask> entries = new HashMap<>();
+
+    DeveloperActiveTaskRepository repository() {
+        return (DeveloperActiveTaskRepository) Proxy.newProxyInstance(
+                DeveloperActiveTaskRepository.class.getClassLoader(),
+                new Class<?>[]{DeveloperActiveTaskRepository.class},
+                this
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "insert" -> insert((DeveloperActiveTask) args[0]);
+            case "findById" -> Optional.ofNullable(entries.get((String) args[0]));
+            case "deleteByDeveloperIdAndTaskId" -> delete((String) args[0], (String) args[1], null);
+            case "deleteByDeveloperIdAndTaskIdAndStartedAtBefore" ->
+                    delete((String) args[0], (String) args[1], (Instant) args[2]);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryActiveTaskRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private DeveloperActiveTask insert(DeveloperActiveTask entry) {
+        if (entries.putIfAbsent(entry.getDeveloperId(), entry) != null) {
+            throw new DuplicateKeyException("Developer " + entry.getDeveloperId() + " already has an active task.");
+        }
+        return entry;
+    }
+
+    private long delete(String developerId, String taskId, Instant startedBefore) {
+        DeveloperActiveTask entry = entries.get(developerId);
+        if (entry == null || !entry.getTaskId().equals(taskId)) {
+            return 0L;
+        }
+        if (startedBefore != null && !entry.getStartedAt().isBefore(startedBefore)) {
+            return 0L;
+        }
+        entries.remove(developerId);
+        return 1L;
+    }
+}
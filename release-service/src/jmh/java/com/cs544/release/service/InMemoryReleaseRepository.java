@@ -0,0 +1,199 @@
+package com.cs544.release.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+import com.cs544.release.repository.KeysetCursor;
+import com.cs544.release.repository.ReleaseRepository;
+
+// Backs ReleaseRepository with a map for the methods ReleaseWorkflowService writes and reads through.
+// Reads hand out copies and conditional updates apply the same checks as the Mongo queries, so the
+// service sees the same object lifecycle as against the database. Other methods are unsupported.
+final class InMemoryReleaseRepository implements InvocationHandler {
+    private static final Comparator<TaskWithRelease> NEWEST_FIRST = Comparator
+            .comparing((TaskWithRelease entry) -> entry.task().getUpdatedAt())
+            .thenComparing(entry -> entry.task().getId())
+            .reversed();
+
+    private final Map<String, Release> releases = new HashMap<>();
+    private final Map<String, String> releaseIdsByTaskId = new HashMap<>();
+
+    ReleaseRepository repository() {
+        return (ReleaseRepository) Proxy.newProxyInstance(
+                ReleaseRepository.class.getClassLoader(), new Class<?>[]{ReleaseRepository.class}, this);
+    }
+
+    void setTaskStatus(String releaseId, String taskId, TaskStatus status) {
+        Release release = releases.get(releaseId);
+        release.updateTaskStatus(release.findTask(taskId), status, Instant.now());
+    }
+
+    void removeTask(String releaseId, String taskId) {
+        Release release = releases.get(releaseId);
+        List<Task> tasks = release.getTasks();
+        tasks.remove(release.findTask(taskId));
+        release.setTasks(tasks);
+        releaseIdsByTaskId.remove(taskId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findById" -> findById((String) args[0]);
+            case "findByTaskId" -> Optional.ofNullable(releaseIdsByTaskId.get((String) args[0]))
+                    .flatMap(this::findById);
+            case "findForTaskTransition" -> findById((String) args[0]);
+            case "findForTaskAppend" -> findById((String) args[0]);
+            case "save" -> save((Release) args[0]);
+            case "appendTask" -> appendTasks((String) args[0], List.of((Task) args[1]), (boolean) args[2]);
+            case "appendTasks" -> appendTasks((String) args[0], (List<Task>) args[1], (boolean) args[2]);
+            case "transitionTask" -> transitionTask(
+                    (String) args[0], (String) args[1], (String) args[2],
+                    (TaskStatus) args[3], (TaskStatus) args[4], (Instant) args[5]);
+            case "findTasksForDeveloper" -> findTasksForDeveloper(
+                    (String) args[0], (TaskStatus) args[1], (KeysetCursor) args[2], (int) args[3]);
+            case "findRevision" -> Optional.ofNullable(releases.get((String) args[0]))
+                    .map(Release::getRevision)
+                    .orElse(null);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryReleaseRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Optional<Release> findById(String releaseId) {
+        return Optional.ofNullable(releases.get(releaseId)).map(InMemoryReleaseRepository::copy);
+    }
+
+    private Release save(Release release) {
+        if (release.getId() == null) {
+            release.setId(UUID.randomUUID().toString());
+        }
+        release.setRevision(release.getRevision() == null ? 0 : release.getRevision() + 1);
+        Release stored = copy(release);
+        releases.put(stored.getId(), stored);
+        for (Task task : stored.getTasks()) {
+            releaseIdsByTaskId.put(task.getId(), stored.getId());
+        }
+        return release;
+    }
+
+    private boolean appendTasks(String releaseId, List<Task> tasks, boolean reopenRelease) {
+        Release stored = releases.get(releaseId);
+        if (stored == null || stored.isCompleted() != reopenRelease) {
+            return false;
+        }
+        for (Task task : tasks) {
+            if (stored.findTaskByOrderIndex(task.getOrderIndex()) != null) {
+                return false;
+            }
+        }
+        stored.addTasks(tasks.stream().map(InMemoryReleaseRepository::copy).toList());
+        for (Task task : tasks) {
+            releaseIdsByTaskId.put(task.getId(), releaseId);
+        }
+        stored.setRevision(stored.getRevision() + 1);
+        if (reopenRelease) {
+            stored.setCompleted(false);
+            stored.setCompletedAt(null);
+        }
+        return true;
+    }
+
+    private boolean transitionTask(
+            String releaseId,
+            String taskId,
+            String assigneeId,
+            TaskStatus expectedStatus,
+            TaskStatus newStatus,
+            Instant updatedAt
+    ) {
+        Release stored = releases.get(releaseId);
+        Task task = stored == null ? null : stored.findTask(taskId);
+        if (task == null || task.getStatus() != expectedStatus || !assigneeId.equals(task.getAssigneeId())) {
+            return false;
+        }
+        stored.updateTaskStatus(task, newStatus, updatedAt);
+        stored.setRevision(stored.getRevision() + 1);
+        return true;
+    }
+
+    // A scan in place of the assigneeId/status aggregation; ordering and keyset paging match it.
+    private List<TaskWithRelease> findTasksForDeveloper(
+            String developerId,
+            TaskStatus status,
+            KeysetCursor after,
+            int limit
+    ) {
+        List<TaskWithRelease> matches = new ArrayList<>();
+        for (Release release : releases.values()) {
+            for (Task task : release.getTasks()) {
+                if (!developerId.equals(task.getAssigneeId()) || (status != null && task.getStatus() != status)) {
+                    continue;
+                }
+                if (after != null && !before(task, after)) {
+                    continue;
+                }
+                matches.add(new TaskWithRelease(release.getId(), task));
+            }
+        }
+        matches.sort(NEWEST_FIRST);
+        List<TaskWithRelease> page = limit > 0 && matches.size() > limit ? matches.subList(0, limit) : matches;
+        return page.stream().map(entry -> new TaskWithRelease(entry.releaseId(), copy(entry.task()))).toList();
+    }
+
+    private static boolean before(Task task, KeysetCursor after) {
+        int byTime = task.getUpdatedAt().compareTo(after.timestamp());
+        return byTime < 0 || (byTime == 0 && task.getId().compareTo(after.id()) < 0);
+    }
+
+    private static Release copy(Release release) {
+        Release copy = new Release(release.getName(), release.getVersion());
+        copy.setId(release.getId());
+        copy.setCreatedAt(release.getCreatedAt());
+        copy.setCompleted(release.isCompleted());
+        copy.setCompletedAt(release.getCompletedAt());
+        copy.setLastCompletedAt(release.getLastCompletedAt());
+        copy.setArchivedAt(release.getArchivedAt());
+        copy.setTodoCount(release.getTodoCount());
+        copy.setInProcessCount(release.getInProcessCount());
+        copy.setCompletedCount(release.getCompletedCount());
+        copy.setLastActivityAt(release.getLastActivityAt());
+        copy.setRevision(release.getRevision());
+        List<Task> tasks = new ArrayList<>(release.getTasks().size());
+        for (Task task : release.getTasks()) {
+            tasks.add(copy(task));
+        }
+        copy.setTasks(tasks);
+        return copy;
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setAssigneeId(task.getAssigneeId());
+        copy.setOrderIndex(task.getOrderIndex());
+        copy.setStatus(task.getStatus());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setLastReminderAt(task.getLastReminderAt());
+        return copy;
+    }
+}
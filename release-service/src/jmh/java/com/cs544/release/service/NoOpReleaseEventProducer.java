@@ -0,0 +1,41 @@
+package com.cs544.release.service;
+
+import java.util.List;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+
+// Drops every event, so benchmarks measure the workflow rather than envelope serialization.
+final class NoOpReleaseEventProducer extends ReleaseEventProducer {
+    NoOpReleaseEventProducer() {
+        super(null, null);
+    }
+
+    @Override
+    public void publishReleaseCreated(Release release) {
+    }
+
+    @Override
+    public void publishHotfixTaskAdded(Release release, Task task) {
+    }
+
+    @Override
+    public void publishTaskAssigned(Release release, Task task) {
+    }
+
+    @Override
+    public void publishTasksAssigned(Release release, List<Task> tasks, boolean hotfix) {
+    }
+
+    @Override
+    public void publishTaskStarted(Release release, Task task) {
+    }
+
+    @Override
+    public void publishTaskCompleted(Release release, Task task) {
+    }
+
+    @Override
+    public void publishStaleTaskDetected(String releaseId, Task task) {
+    }
+}
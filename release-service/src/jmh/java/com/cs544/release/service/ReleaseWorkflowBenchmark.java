@@ -0,0 +1,122 @@
+package com.cs544.release.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// ReleaseWorkflowService hot paths over an in-memory repository and a no-op event producer.
+// Each write benchmark puts the task back in its starting state, so every invocation sees the same
+// release; the reset is a map update and is included in the score. Run with -prof gc for allocation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReleaseWorkflowBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    private int taskCount;
+
+    @Param({"1", "10", "100"})
+    private int developerCount;
+
+    private InMemoryReleaseRepository repository;
+    private ActiveTaskIndex activeTaskIndex;
+    private ReleaseWorkflowService service;
+    private String startReleaseId;
+    private String completeReleaseId;
+    private Task todoTask;
+    private Task inProcessTask;
+    private int nextTask;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryReleaseRepository();
+        ReleaseMetrics metrics = new ReleaseMetrics(new SimpleMeterRegistry());
+        activeTaskIndex = new ActiveTaskIndex(new InMemoryActiveTaskRepository().repository(), repository.repository(), 30_000);
+        service = new ReleaseWorkflowService(
+                repository.repository(), new NoOpReleaseEventProducer(), metrics, activeTaskIndex,
+                new TaskRoutingCache(metrics, 10000),
+                new ReleaseCache(metrics, new SimpleMeterRegistry(), false, 0, 0),
+                TransactionOperations.withoutTransaction(), 3, 0);
+
+        // The first half of each release is done; the task after it is the next one to start or complete.
+        Release startRelease = release("start", TaskStatus.TODO);
+        startReleaseId = startRelease.getId();
+        todoTask = startRelease.getTasks().get(taskCount / 2);
+        Release completeRelease = release("complete", TaskStatus.IN_PROCESS);
+        completeReleaseId = completeRelease.getId();
+        inProcessTask = completeRelease.getTasks().get(taskCount / 2);
+    }
+
+    @Benchmark
+    public Release addTask() {
+        Task task = new Task("Added", "", developer(nextTask++), taskCount + 1);
+        Release release = service.addTask(startReleaseId, task);
+        repository.removeTask(startReleaseId, task.getId());
+        return release;
+    }
+
+    @Benchmark
+    public Release startTask() {
+        Release release = service.startTask(startReleaseId, todoTask.getId(), todoTask.getAssigneeId());
+        repository.setTaskStatus(startReleaseId, todoTask.getId(), TaskStatus.TODO);
+        activeTaskIndex.release(todoTask.getAssigneeId(), todoTask.getId());
+        return release;
+    }
+
+    @Benchmark
+    public Release completeTask() {
+        Release release = service.completeTask(completeReleaseId, inProcessTask.getId(), inProcessTask.getAssigneeId());
+        repository.setTaskStatus(completeReleaseId, inProcessTask.getId(), TaskStatus.IN_PROCESS);
+        return release;
+    }
+
+    @Benchmark
+    public ReleaseWorkflowService.TaskPage listTasksForDeveloper() {
+        String developerId = developer(nextTask++);
+        return service.listTasksForDeveloper(developerId, null, null, ReleaseWorkflowService.DEFAULT_PAGE_SIZE);
+    }
+
+    private Release release(String name, TaskStatus nextStatus) {
+        Release release = service.createRelease(name, "1.0");
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Task " + i, "", developer(i), i + 1);
+            if (i < taskCount / 2) {
+                task.setStatus(TaskStatus.COMPLETED);
+            } else if (i == taskCount / 2) {
+                task.setStatus(nextStatus);
+            }
+            tasks.add(task);
+        }
+        int batchSize = ReleaseWorkflowService.MAX_TASK_BATCH_SIZE;
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            service.addTasks(release.getId(), tasks.subList(from, Math.min(from + batchSize, tasks.size())));
+        }
+        return service.getRelease(release.getId());
+    }
+
+    private String developer(int task) {
+        return "dev-" + (task % developerCount);
+    }
+}
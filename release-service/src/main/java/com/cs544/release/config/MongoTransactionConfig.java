@@ -0,0 +1,51 @@
+package com.cs544.release.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mongodb.MongoException;
+
+@Configuration
+public class MongoTransactionConfig {
+    @Value("${release.outbox.transactional:true}")
+    private boolean transactional;
+
+    // Multi-document transactions need a replica set; standalone deployments can switch them off.
+    @Bean
+    public TransactionOperations releaseTransactions(MongoDatabaseFactory databaseFactory) {
+        if (!transactional) {
+            return TransactionOperations.withoutTransaction();
+        }
+        TransactionTemplate template = new TransactionTemplate(new MongoTransactionManager(databaseFactory));
+        return new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                try {
+                    return template.execute(action);
+                } catch (RuntimeException ex) {
+                    if (isTransient(ex)) {
+                        throw new OptimisticLockingFailureException("Transaction aborted by a concurrent write.", ex);
+                    }
+                    throw ex;
+                }
+            }
+        };
+    }
+
+    private static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.cs544.release.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.repository.ReleaseRepository;
+import com.cs544.release.service.ActiveTaskIndex;
+import com.cs544.release.service.WorkloadGauges;
+
+@Component
+public class ReleaseDataInitializer {
+    private final ReleaseRepository releaseRepository;
+    private final ActiveTaskIndex activeTaskIndex;
+    private final WorkloadGauges workloadGauges;
+    private final TaskStorageMigration taskStorageMigration;
+
+    public ReleaseDataInitializer(
+            ReleaseRepository releaseRepository,
+            ActiveTaskIndex activeTaskIndex,
+            WorkloadGauges workloadGauges,
+            TaskStorageMigration taskStorageMigration
+    ) {
+        this.releaseRepository = releaseRepository;
+        this.activeTaskIndex = activeTaskIndex;
+        this.workloadGauges = workloadGauges;
+        this.taskStorageMigration = taskStorageMigration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Releases written before revisions were tracked would otherwise be re-inserted on save.
+        releaseRepository.initializeMissingRevisions();
+        taskStorageMigration.run();
+        // Status counters are derived from the tasks for releases written before they were stored.
+        releaseRepository.initializeMissingTaskCounts();
+        releaseRepository.ensureArchiveIndexes();
+        activeTaskIndex.rebuild();
+        workloadGauges.refresh();
+    }
+}
@@ -0,0 +1,158 @@
+package com.cs544.release.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.TaskDocument;
+import com.cs544.release.service.SchedulerLeaseManager;
+
+// Moves tasks between the releases.tasks array and the tasks collection, one release per transaction
+// that also reads the tasks it moves, so an interrupted run can simply be started again. Selected by
+// release.tasks.migration.
+@Component
+public class TaskStorageMigration {
+    public enum Direction {
+        NONE,
+        TO_COLLECTION,
+        TO_EMBEDDED
+    }
+
+    private static final String LEASE_NAME = "task-storage-migration";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionOperations transactions;
+    private final SchedulerLeaseManager leaseManager;
+    private final Duration leaseTtl;
+    private final Direction direction;
+
+    public TaskStorageMigration(
+            MongoTemplate mongoTemplate,
+            TransactionOperations transactions,
+            SchedulerLeaseManager leaseManager,
+            @Value("${release.scheduler.lease-ttl-ms:120000}") long leaseTtlMs,
+            @Value("${release.tasks.migration:none}") Direction direction
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = transactions;
+        this.leaseManager = leaseManager;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.direction = direction;
+    }
+
+    // Only the replica holding the lease moves data; the others start without waiting for it.
+    public long run() {
+        if (direction == Direction.NONE) {
+            return 0;
+        }
+        AtomicLong moved = new AtomicLong();
+        leaseManager.runExclusively(LEASE_NAME, leaseTtl, Duration.ZERO, lease -> moved.set(switch (direction) {
+            case NONE -> 0;
+            case TO_COLLECTION -> moveToCollection(lease);
+            case TO_EMBEDDED -> moveToEmbedded(lease);
+        }));
+        return moved.get();
+    }
+
+    private long moveToCollection(SchedulerLeaseManager.Lease lease) {
+        Query query = new Query(Criteria.where("tasks").exists(true));
+        query.fields().include("_id");
+        long moved = 0;
+        try (Stream<Document> releases = mongoTemplate.stream(query, Document.class, releaseCollection())) {
+            for (Document release : (Iterable<Document>) releases::iterator) {
+                if (!lease.keepAlive()) {
+                    break;
+                }
+                Object releaseId = release.get("_id");
+                Integer count = transactions.execute(status -> {
+                    Query current = new Query(Criteria.where("_id").is(releaseId));
+                    current.fields().include("tasks");
+                    Document fresh = mongoTemplate.findOne(current, Document.class, releaseCollection());
+                    List<Document> tasks = fresh == null
+                            ? List.of()
+                            : fresh.getList("tasks", Document.class, List.of());
+                    if (!tasks.isEmpty()) {
+                        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, taskCollection());
+                        for (Document task : tasks) {
+                            Document document = new Document(task);
+                            document.put("_id", document.remove("id"));
+                            document.put("releaseId", releaseId.toString());
+                            document.putIfAbsent("revision", 0L);
+                            bulk.replaceOne(
+                                    new Query(Criteria.where("_id").is(document.get("_id"))),
+                                    document,
+                                    FindAndReplaceOptions.options().upsert()
+                            );
+                        }
+                        bulk.execute();
+                    }
+                    mongoTemplate.updateFirst(
+                            new Query(Criteria.where("_id").is(releaseId)),
+                            new Update().unset("tasks"),
+                            Release.class
+                    );
+                    return tasks.size();
+                });
+                moved += count == null ? 0 : count;
+            }
+        }
+        return moved;
+    }
+
+    private long moveToEmbedded(SchedulerLeaseManager.Lease lease) {
+        long moved = 0;
+        for (String releaseId : mongoTemplate.findDistinct(new Query(), "releaseId", taskCollection(), String.class)) {
+            if (!lease.keepAlive()) {
+                break;
+            }
+            // Tasks of a release that no longer exists stay where they are.
+            Integer count = transactions.execute(status -> {
+                Query query = new Query(Criteria.where("releaseId").is(releaseId))
+                        .with(Sort.by(Sort.Direction.ASC, "orderIndex"));
+                List<Document> tasks = new ArrayList<>();
+                for (Document document : mongoTemplate.find(query, Document.class, taskCollection())) {
+                    Document task = new Document(document);
+                    task.put("id", task.remove("_id"));
+                    task.remove("releaseId");
+                    task.remove("revision");
+                    tasks.add(task);
+                }
+                long matched = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(releaseId)),
+                        new Update().push("tasks").sort(Sort.by(Sort.Direction.ASC, "orderIndex")).each(tasks.toArray()),
+                        Release.class
+                ).getMatchedCount();
+                if (matched == 0) {
+                    return 0;
+                }
+                mongoTemplate.remove(new Query(Criteria.where("releaseId").is(releaseId)), taskCollection());
+                return tasks.size();
+            });
+            moved += count == null ? 0 : count;
+        }
+        return moved;
+    }
+
+    private String releaseCollection() {
+        return mongoTemplate.getCollectionName(Release.class);
+    }
+
+    private String taskCollection() {
+        return mongoTemplate.getCollectionName(TaskDocument.class);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cs544.release.controller;
+
+import com.cs544.release.repository.RevisionSummary;
+
+// Strong validators built from release revision counters, so no response body has to be hashed.
+final class ETags {
+    private ETags() {
+    }
+
+    static String of(long revision) {
+        return "\"" + revision + "\"";
+    }
+
+    static String of(RevisionSummary summary) {
+        return "\"" + summary.archiveEpoch() + "-" + summary.documents() + "-" + summary.revisions() + "\"";
+    }
+}
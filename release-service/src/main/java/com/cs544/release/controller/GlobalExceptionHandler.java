@@ -1,9 +1,12 @@
 package com.cs544.release.controller;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import com.cs544.release.service.SystemErrorPublisher;
 
@@ -15,6 +18,25 @@ public class GlobalExceptionHandler {
         this.errorPublisher = errorPublisher;
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("Release was modified concurrently; please retry."));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleBadParameter(MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Invalid value for parameter '" + ex.getName() + "'."));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleBadInput(ServerWebInputException ex) {
+        String name = ex.getMethodParameter() == null ? null : ex.getMethodParameter().getParameterName();
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(name == null ? "Invalid request." : "Invalid value for parameter '" + name + "'."));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
         errorPublisher.publish(ex.getMessage() == null ? "Unhandled error" : ex.getMessage());
@@ -0,0 +1,121 @@
+package com.cs544.release.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.cs544.release.controller.ReleaseController.ErrorResponse;
+import com.cs544.release.controller.ReleaseController.RecountResponse;
+import com.cs544.release.controller.ReleaseController.ReleaseRequest;
+import com.cs544.release.controller.ReleaseController.TaskRequest;
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.service.ReactiveReleaseWorkflowService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping({"/api/releases", "/releases"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReleaseController {
+    private final ReactiveReleaseWorkflowService workflowService;
+
+    public ReactiveReleaseController(ReactiveReleaseWorkflowService workflowService) {
+        this.workflowService = workflowService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Release>> createRelease(@RequestBody ReleaseRequest request) {
+        return workflowService.createRelease(request.name(), request.version()).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Release>>> listReleases(ServerWebExchange exchange) {
+        return workflowService.releasesRevision().flatMap(revision -> {
+            String etag = ETags.of(revision);
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ReleaseResponses.<List<Release>>notModified(etag));
+            }
+            return workflowService.listReleases().collectList()
+                    .map(releases -> ResponseEntity.ok().eTag(etag).body(releases));
+        });
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<?>> listReleaseSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "0") int limit
+    ) {
+        return badRequestOnInvalid(workflowService.listReleaseSummaries(cursor, limit).map(ResponseEntity::ok));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Flux<Release>>> exportReleases(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since
+    ) {
+        return Mono.just(ResponseEntity.ok(workflowService.exportReleases(since)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getRelease(@PathVariable String id, ServerWebExchange exchange) {
+        Mono<Long> revision = exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                ? workflowService.getReleaseRevision(id)
+                : Mono.empty();
+        Mono<ResponseEntity<?>> response = revision
+                .filter(current -> exchange.checkNotModified(ETags.of(current)))
+                .<ResponseEntity<?>>map(current -> ReleaseResponses.notModified(ETags.of(current)))
+                .switchIfEmpty(Mono.defer(() -> workflowService.getRelease(id).map(ReleaseResponses::release)));
+        return badRequestOnInvalid(response);
+    }
+
+    @PostMapping("/{id}/tasks")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<?>> addTask(@PathVariable String id, @RequestBody TaskRequest request) {
+        Task task = new Task(request.title(), request.description(), request.assigneeId(), request.orderIndex());
+        return badRequestOnInvalid(workflowService.addTask(id, task).map(ResponseEntity::ok));
+    }
+
+    @PostMapping("/{id}/tasks/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<?>> addTasks(@PathVariable String id, @RequestBody List<TaskRequest> requests) {
+        List<Task> tasks = requests == null ? List.of() : requests.stream()
+                .map(request -> new Task(request.title(), request.description(), request.assigneeId(), request.orderIndex()))
+                .toList();
+        return badRequestOnInvalid(workflowService.addTasks(id, tasks).map(ResponseEntity::ok));
+    }
+
+    @PatchMapping("/{id}/complete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<?>> completeRelease(@PathVariable String id) {
+        return badRequestOnInvalid(workflowService.completeRelease(id).map(ResponseEntity::ok));
+    }
+
+    @PostMapping("/task-counts/repair")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<RecountResponse>> recountTasks(@RequestParam(required = false) String releaseId) {
+        return workflowService.recountTasks(releaseId).map(repaired -> ResponseEntity.ok(new RecountResponse(repaired)));
+    }
+
+    private static Mono<ResponseEntity<?>> badRequestOnInvalid(Mono<? extends ResponseEntity<?>> response) {
+        return response.<ResponseEntity<?>>map(entity -> entity)
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()))));
+    }
+}
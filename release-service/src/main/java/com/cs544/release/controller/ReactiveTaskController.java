@@ -0,0 +1,72 @@
+package com.cs544.release.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.cs544.release.controller.TaskController.ErrorResponse;
+import com.cs544.release.model.Release;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.service.ReactiveReleaseWorkflowService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping({"/api/tasks", "/tasks"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+    private final ReactiveReleaseWorkflowService workflowService;
+
+    public ReactiveTaskController(ReactiveReleaseWorkflowService workflowService) {
+        this.workflowService = workflowService;
+    }
+
+    @GetMapping("/my")
+    @PreAuthorize("hasAnyRole('ADMIN','DEVELOPER')")
+    public Mono<ResponseEntity<?>> myTasks(
+            Authentication authentication,
+            ServerWebExchange exchange,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "0") int limit
+    ) {
+        String developerId = authentication.getName();
+        Mono<ResponseEntity<?>> response = workflowService.tasksRevisionForDeveloper(developerId)
+                .<ResponseEntity<?>>flatMap(revision -> {
+                    String etag = ETags.of(revision);
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ReleaseResponses.notModified(etag));
+                    }
+                    return workflowService.listTasksForDeveloper(developerId, status, cursor, limit)
+                            .map(page -> ReleaseResponses.taskPage(page, etag));
+                });
+        return response.onErrorResume(IllegalArgumentException.class,
+                ex -> Mono.just(ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()))));
+    }
+
+    @PatchMapping("/{id}/start")
+    @PreAuthorize("hasAnyRole('ADMIN','DEVELOPER')")
+    public Mono<ResponseEntity<?>> startTask(@PathVariable String id, Authentication authentication) {
+        return respond(id, workflowService.startTaskByTaskId(id, authentication.getName()));
+    }
+
+    @PatchMapping("/{id}/complete")
+    @PreAuthorize("hasAnyRole('ADMIN','DEVELOPER')")
+    public Mono<ResponseEntity<?>> completeTask(@PathVariable String id, Authentication authentication) {
+        return respond(id, workflowService.completeTaskByTaskId(id, authentication.getName()));
+    }
+
+    private static Mono<ResponseEntity<?>> respond(String taskId, Mono<Release> transition) {
+        return transition.<ResponseEntity<?>>map(release -> ReleaseResponses.task(release, taskId))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()))));
+    }
+}
@@ -1,7 +1,12 @@
 package com.cs544.release.controller;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,19 +15,28 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.cs544.release.model.Release;
 import com.cs544.release.model.Task;
+import com.cs544.release.service.ReleaseExportService;
 import com.cs544.release.service.ReleaseWorkflowService;
 
 @RestController
 @RequestMapping({"/api/releases", "/releases"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ReleaseController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ReleaseWorkflowService workflowService;
+    private final ReleaseExportService exportService;
 
-    public ReleaseController(ReleaseWorkflowService workflowService) {
+    public ReleaseController(ReleaseWorkflowService workflowService, ReleaseExportService exportService) {
         this.workflowService = workflowService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -32,14 +46,45 @@ public class ReleaseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Release>> listReleases() {
-        return ResponseEntity.ok(workflowService.listReleases());
+    public ResponseEntity<List<Release>> listReleases(WebRequest webRequest) {
+        String etag = ETags.of(workflowService.releasesRevision());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(workflowService.listReleases());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<?> listReleaseSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "0") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(workflowService.listReleaseSummaries(cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReleases(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since
+    ) {
+        StreamingResponseBody body = out -> exportService.exportNdjson(since, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getRelease(@PathVariable String id) {
+    public ResponseEntity<?> getRelease(@PathVariable String id, WebRequest webRequest) {
         try {
-            return ResponseEntity.ok(workflowService.getRelease(id));
+            Long revision = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                    ? null
+                    : workflowService.getReleaseRevision(id);
+            if (revision != null && webRequest.checkNotModified(ETags.of(revision))) {
+                return null;
+            }
+            return ReleaseResponses.release(workflowService.getRelease(id));
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
         }
@@ -56,6 +101,19 @@ public class ReleaseController {
         }
     }
 
+    @PostMapping("/{id}/tasks/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> addTasks(@PathVariable String id, @RequestBody List<TaskRequest> requests) {
+        try {
+            List<Task> tasks = requests == null ? List.of() : requests.stream()
+                    .map(request -> new Task(request.title(), request.description(), request.assigneeId(), request.orderIndex()))
+                    .toList();
+            return ResponseEntity.ok(workflowService.addTasks(id, tasks));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        }
+    }
+
     @PatchMapping("/{id}/complete")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> completeRelease(@PathVariable String id) {
@@ -66,6 +124,13 @@ public class ReleaseController {
         }
     }
 
+    // Recomputes the stored task status counters, for one release or for all of them.
+    @PostMapping("/task-counts/repair")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecountResponse> recountTasks(@RequestParam(required = false) String releaseId) {
+        return ResponseEntity.ok(new RecountResponse(workflowService.recountTasks(releaseId)));
+    }
+
     public record ReleaseRequest(String name, String version) {
     }
 
@@ -74,4 +139,7 @@ public class ReleaseController {
 
     public record ErrorResponse(String message) {
     }
+
+    public record RecountResponse(long repaired) {
+    }
 }
@@ -0,0 +1,44 @@
+package com.cs544.release.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+
+import com.cs544.release.controller.TaskController.TaskResponse;
+import com.cs544.release.model.Release;
+import com.cs544.release.service.ReleaseWorkflowService.TaskPage;
+
+// Response bodies and validators shared by the servlet and reactive controllers.
+final class ReleaseResponses {
+    private ReleaseResponses() {
+    }
+
+    static ResponseEntity<Release> release(Release release) {
+        BodyBuilder response = ResponseEntity.ok();
+        if (release.getRevision() != null) {
+            response.eTag(ETags.of(release.getRevision()));
+        }
+        return response.body(release);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    static ResponseEntity<List<TaskResponse>> taskPage(TaskPage page, String etag) {
+        List<TaskResponse> tasks = page.items().stream()
+                .map(task -> new TaskResponse(task.releaseId(), task.task()))
+                .toList();
+        BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.nextCursor() != null) {
+            response.header(TaskController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(tasks);
+    }
+
+    static ResponseEntity<TaskResponse> task(Release release, String taskId) {
+        return ResponseEntity.ok(new TaskResponse(release.getId(), release.findTask(taskId)));
+    }
+}
@@ -1,7 +1,6 @@
 package com.cs544.release.controller;
 
-import java.util.List;
-
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -9,15 +8,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.cs544.release.model.Release;
 import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
 import com.cs544.release.service.ReleaseWorkflowService;
 
 @RestController
 @RequestMapping({"/api/tasks", "/tasks"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TaskController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ReleaseWorkflowService workflowService;
 
     public TaskController(ReleaseWorkflowService workflowService) {
@@ -26,12 +30,24 @@ public class TaskController {
 
     @GetMapping("/my")
     @PreAuthorize("hasAnyRole('ADMIN','DEVELOPER')")
-    public ResponseEntity<List<TaskResponse>> myTasks(Authentication authentication) {
-        String developerId = authentication.getName();
-        List<TaskResponse> tasks = workflowService.listTasksForDeveloper(developerId).stream()
-                .map(task -> new TaskResponse(task.releaseId(), task.task()))
-                .toList();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> myTasks(
+            Authentication authentication,
+            WebRequest webRequest,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "0") int limit
+    ) {
+        try {
+            String developerId = authentication.getName();
+            String etag = ETags.of(workflowService.tasksRevisionForDeveloper(developerId));
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ReleaseResponses.taskPage(
+                    workflowService.listTasksForDeveloper(developerId, status, cursor, limit), etag);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        }
     }
 
     @PatchMapping("/{id}/start")
@@ -39,9 +55,7 @@ public class TaskController {
     public ResponseEntity<?> startTask(@PathVariable String id, Authentication authentication) {
         try {
             String developerId = authentication.getName();
-            Release release = workflowService.startTaskByTaskId(id, developerId);
-            Task task = release.getTasks().stream().filter(t -> id.equals(t.getId())).findFirst().orElse(null);
-            return ResponseEntity.ok(new TaskResponse(release.getId(), task));
+            return ReleaseResponses.task(workflowService.startTaskByTaskId(id, developerId), id);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
         }
@@ -52,9 +66,7 @@ public class TaskController {
     public ResponseEntity<?> completeTask(@PathVariable String id, Authentication authentication) {
         try {
             String developerId = authentication.getName();
-            Release release = workflowService.completeTaskByTaskId(id, developerId);
-            Task task = release.getTasks().stream().filter(t -> id.equals(t.getId())).findFirst().orElse(null);
-            return ResponseEntity.ok(new TaskResponse(release.getId(), task));
+            return ReleaseResponses.task(workflowService.completeTaskByTaskId(id, developerId), id);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
         }
@@ -0,0 +1,57 @@
+package com.cs544.release.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "developer_active_task")
+public class DeveloperActiveTask {
+    @Id
+    private String developerId;
+    private String releaseId;
+    private String taskId;
+    private Instant startedAt;
+
+    public DeveloperActiveTask() {
+    }
+
+    public DeveloperActiveTask(String developerId, String releaseId, String taskId, Instant startedAt) {
+        this.developerId = developerId;
+        this.releaseId = releaseId;
+        this.taskId = taskId;
+        this.startedAt = startedAt;
+    }
+
+    public String getDeveloperId() {
+        return developerId;
+    }
+
+    public String getReleaseId() {
+        return releaseId;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setDeveloperId(String developerId) {
+        this.developerId = developerId;
+    }
+
+    public void setReleaseId(String releaseId) {
+        this.releaseId = releaseId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+}
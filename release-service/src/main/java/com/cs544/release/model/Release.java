@@ -2,12 +2,22 @@ package com.cs544.release.model;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "releases")
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "tasks_status_updatedAt", def = "{'tasks.status': 1, 'tasks.updatedAt': 1}")
+@CompoundIndex(name = "completed_completedAt", def = "{'completed': 1, 'completedAt': 1}")
+@CompoundIndex(name = "lastActivityAt_id", def = "{'lastActivityAt': 1, '_id': 1}")
 public class Release {
     @Id
     private String id;
@@ -17,7 +27,18 @@ public class Release {
     private boolean completed;
     private Instant completedAt;
     private Instant lastCompletedAt;
+    // Set only while the release is stored in releases_archive.
+    private Instant archivedAt;
     private List<Task> tasks = new ArrayList<>();
+    // Kept in step with tasks by every task write, so progress reads never need the task array.
+    private int todoCount;
+    private int inProcessCount;
+    private int completedCount;
+    private Instant lastActivityAt = createdAt;
+    @Version
+    private Long revision;
+    @Transient
+    private TaskIndex taskIndex;
 
     public Release() {
     }
@@ -26,6 +47,7 @@ public class Release {
         this.name = name;
         this.version = version;
         this.createdAt = Instant.now();
+        this.lastActivityAt = createdAt;
     }
 
     public String getId() {
@@ -56,10 +78,34 @@ public class Release {
         return lastCompletedAt;
     }
 
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
     public List<Task> getTasks() {
         return tasks;
     }
 
+    public int getTodoCount() {
+        return todoCount;
+    }
+
+    public int getInProcessCount() {
+        return inProcessCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
     public void setId(String id) {
         this.id = id;
     }
@@ -88,7 +134,99 @@ public class Release {
         this.lastCompletedAt = lastCompletedAt;
     }
 
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
     public void setTasks(List<Task> tasks) {
         this.tasks = tasks;
+        this.taskIndex = null;
+    }
+
+    public void setTodoCount(int todoCount) {
+        this.todoCount = todoCount;
+    }
+
+    public void setInProcessCount(int inProcessCount) {
+        this.inProcessCount = inProcessCount;
+    }
+
+    public void setCompletedCount(int completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public boolean hasOpenTasks() {
+        return todoCount + inProcessCount > 0;
+    }
+
+    public Task findTask(String taskId) {
+        return taskIndex().byId(taskId);
+    }
+
+    public Task findTaskByOrderIndex(int orderIndex) {
+        return taskIndex().byOrderIndex(orderIndex);
+    }
+
+    // Keeps tasks ordered by orderIndex, as the $push with $sort does in the stored document.
+    public void addTasks(Collection<Task> added) {
+        for (Task task : added) {
+            adjustCount(task.getStatus(), 1);
+            recordActivity(task.getUpdatedAt());
+        }
+        TaskIndex index = taskIndex();
+        if (!index.isSorted() || added.size() > 1) {
+            tasks.addAll(added);
+            tasks.sort(Comparator.comparingInt(Task::getOrderIndex));
+            taskIndex = null;
+            return;
+        }
+        for (Task task : added) {
+            int position = Collections.binarySearch(tasks, task, Comparator.comparingInt(Task::getOrderIndex));
+            tasks.add(position < 0 ? -position - 1 : position, task);
+            index.add(task);
+        }
+    }
+
+    public void updateTaskStatus(Task task, TaskStatus status, Instant updatedAt) {
+        adjustCount(task.getStatus(), -1);
+        adjustCount(status, 1);
+        recordActivity(updatedAt);
+        task.setStatus(status);
+        task.setUpdatedAt(updatedAt);
+    }
+
+    private void adjustCount(TaskStatus status, int delta) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case TODO -> todoCount += delta;
+            case IN_PROCESS -> inProcessCount += delta;
+            case COMPLETED -> completedCount += delta;
+        }
+    }
+
+    private void recordActivity(Instant at) {
+        if (at != null && (lastActivityAt == null || at.isAfter(lastActivityAt))) {
+            lastActivityAt = at;
+        }
+    }
+
+    private TaskIndex taskIndex() {
+        if (tasks == null) {
+            tasks = new ArrayList<>();
+        }
+        if (taskIndex == null || !taskIndex.covers(tasks)) {
+            taskIndex = new TaskIndex(tasks);
+        }
+        return taskIndex;
     }
 }
@@ -0,0 +1,18 @@
+package com.cs544.release.model;
+
+import java.time.Instant;
+
+public record ReleaseSummary(
+        String id,
+        String name,
+        String version,
+        Instant createdAt,
+        boolean completed,
+        Instant completedAt,
+        Instant lastActivityAt,
+        int taskCount,
+        int todoCount,
+        int inProcessCount,
+        int completedCount
+) {
+}
@@ -12,6 +12,7 @@ public class Task {
     private TaskStatus status = TaskStatus.TODO;
     private Instant createdAt = Instant.now();
     private Instant updatedAt = Instant.now();
+    private Instant lastReminderAt;
 
     public Task() {
     }
@@ -59,6 +60,10 @@ public class Task {
         return updatedAt;
     }
 
+    public Instant getLastReminderAt() {
+        return lastReminderAt;
+    }
+
     public void setId(String id) {
         this.id = id;
     }
@@ -91,4 +96,8 @@ public class Task {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public void setLastReminderAt(Instant lastReminderAt) {
+        this.lastReminderAt = lastReminderAt;
+    }
 }
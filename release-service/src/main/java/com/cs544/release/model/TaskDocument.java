@@ -0,0 +1,83 @@
+package com.cs544.release.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// A task stored on its own when release.tasks.storage=collection; the release keeps no task array then.
+@Document(collection = "tasks")
+@CompoundIndex(name = "releaseId_orderIndex", def = "{'releaseId': 1, 'orderIndex': 1}", unique = true)
+@CompoundIndex(name = "assigneeId_status_updatedAt", def = "{'assigneeId': 1, 'status': 1, 'updatedAt': -1, '_id': -1}")
+@CompoundIndex(name = "status_updatedAt", def = "{'status': 1, 'updatedAt': 1}")
+public class TaskDocument {
+    @Id
+    private String id;
+    private String releaseId;
+    private String title;
+    private String description;
+    private String assigneeId;
+    private int orderIndex;
+    private TaskStatus status;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant lastReminderAt;
+    private long revision;
+
+    public TaskDocument() {
+    }
+
+    public static TaskDocument of(String releaseId, Task task) {
+        TaskDocument document = new TaskDocument();
+        document.id = task.getId();
+        document.releaseId = releaseId;
+        document.title = task.getTitle();
+        document.description = task.getDescription();
+        document.assigneeId = task.getAssigneeId();
+        document.orderIndex = task.getOrderIndex();
+        document.status = task.getStatus();
+        document.createdAt = task.getCreatedAt();
+        document.updatedAt = task.getUpdatedAt();
+        document.lastReminderAt = task.getLastReminderAt();
+        return document;
+    }
+
+    public Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setAssigneeId(assigneeId);
+        task.setOrderIndex(orderIndex);
+        task.setStatus(status);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        task.setLastReminderAt(lastReminderAt);
+        return task;
+    }
+
+    public TaskWithRelease toTaskWithRelease() {
+        return new TaskWithRelease(releaseId, toTask());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReleaseId() {
+        return releaseId;
+    }
+
+    public int getOrderIndex() {
+        return orderIndex;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+}
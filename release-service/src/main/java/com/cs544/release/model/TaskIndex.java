@@ -0,0 +1,53 @@
+package com.cs544.release.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Lookup structures over a release's task list, built in one pass and kept in step by Release.
+final class TaskIndex {
+    private final List<Task> tasks;
+    private final Map<String, Task> byId = new HashMap<>();
+    private final NavigableMap<Integer, Task> byOrderIndex = new TreeMap<>();
+    private int size;
+    private boolean sorted = true;
+
+    TaskIndex(List<Task> tasks) {
+        this.tasks = tasks;
+        int previousOrderIndex = Integer.MIN_VALUE;
+        for (Task task : tasks) {
+            if (task.getOrderIndex() < previousOrderIndex) {
+                sorted = false;
+            }
+            previousOrderIndex = task.getOrderIndex();
+            add(task);
+        }
+    }
+
+    // The list is exposed through Release.getTasks(), so edits made around Release invalidate the index.
+    boolean covers(List<Task> current) {
+        return current == tasks && current.size() == size;
+    }
+
+    boolean isSorted() {
+        return sorted;
+    }
+
+    Task byId(String taskId) {
+        return byId.get(taskId);
+    }
+
+    Task byOrderIndex(int orderIndex) {
+        return byOrderIndex.get(orderIndex);
+    }
+
+    void add(Task task) {
+        if (task.getId() != null) {
+            byId.put(task.getId(), task);
+        }
+        byOrderIndex.put(task.getOrderIndex(), task);
+        size++;
+    }
+}
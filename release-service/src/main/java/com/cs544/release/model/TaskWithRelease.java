@@ -0,0 +1,4 @@
+package com.cs544.release.model;
+
+public record TaskWithRelease(String releaseId, Task task) {
+}
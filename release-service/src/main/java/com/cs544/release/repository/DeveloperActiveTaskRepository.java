@@ -0,0 +1,13 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.cs544.release.model.DeveloperActiveTask;
+
+public interface DeveloperActiveTaskRepository extends MongoRepository<DeveloperActiveTask, String> {
+    long deleteByDeveloperIdAndTaskId(String developerId, String taskId);
+
+    long deleteByDeveloperIdAndTaskIdAndStartedAtBefore(String developerId, String taskId, Instant cutoff);
+}
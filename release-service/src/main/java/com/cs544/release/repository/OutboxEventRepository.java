@@ -0,0 +1,13 @@
+package com.cs544.release.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.cs544.release.model.OutboxEvent;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventRepositoryCustom {
+    List<OutboxEvent> findByAggregateIdNotIn(Collection<String> aggregateIds, Pageable pageable);
+}
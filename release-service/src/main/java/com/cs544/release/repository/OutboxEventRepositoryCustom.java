@@ -0,0 +1,11 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import com.cs544.release.model.OutboxEvent;
+
+public interface OutboxEventRepositoryCustom {
+    void recordFailedAttempt(String id, Instant nextAttemptAt, String error);
+
+    void deadLetter(OutboxEvent event, String error, Instant deadLetteredAt);
+}
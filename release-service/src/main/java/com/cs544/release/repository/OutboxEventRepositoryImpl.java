@@ -0,0 +1,41 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.OutboxEvent;
+
+public class OutboxEventRepositoryImpl implements OutboxEventRepositoryCustom {
+    public static final String DEAD_LETTER_COLLECTION = "release_outbox_dead_letter";
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxEventRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void recordFailedAttempt(String id, Instant nextAttemptAt, String error) {
+        Update update = new Update()
+                .inc("attempts", 1)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error);
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id)), update, OutboxEvent.class);
+    }
+
+    // Saved under the same _id before the outbox copy is removed, so a retry after a crash in between
+    // overwrites the dead letter instead of duplicating it.
+    @Override
+    public void deadLetter(OutboxEvent event, String error, Instant deadLetteredAt) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error);
+        event.setNextAttemptAt(null);
+        event.setDeadLetteredAt(deadLetteredAt);
+        mongoTemplate.save(event, DEAD_LETTER_COLLECTION);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(event.getId())), OutboxEvent.class);
+    }
+}
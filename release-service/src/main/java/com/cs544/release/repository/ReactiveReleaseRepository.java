@@ -0,0 +1,8 @@
+package com.cs544.release.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.cs544.release.model.Release;
+
+public interface ReactiveReleaseRepository extends ReactiveMongoRepository<Release, String>, ReactiveReleaseRepositoryCustom {
+}
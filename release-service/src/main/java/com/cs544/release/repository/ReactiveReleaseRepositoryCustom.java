@@ -0,0 +1,23 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReleaseRepositoryCustom {
+    Mono<Long> findRevision(String releaseId);
+
+    Mono<RevisionSummary> summarizeRevisions(String assigneeId);
+
+    Flux<TaskWithRelease> findTasksForDeveloper(String developerId, TaskStatus status, KeysetCursor after, int limit);
+
+    Flux<ReleaseSummary> findReleaseSummaries(KeysetCursor after, int limit);
+
+    Flux<Release> findReleasesChangedSince(Instant since, int batchSize);
+}
@@ -0,0 +1,81 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveReleaseRepositoryImpl implements ReactiveReleaseRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveReleaseRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Long> findRevision(String releaseId) {
+        return mongoTemplate.findOne(
+                        ReleaseQueries.revision(releaseId),
+                        Document.class,
+                        mongoTemplate.getCollectionName(Release.class)
+                )
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findOne(
+                        ReleaseQueries.revision(releaseId),
+                        Document.class,
+                        ReleaseQueries.ARCHIVE_COLLECTION
+                )))
+                .mapNotNull(ReleaseQueries::toRevision);
+    }
+
+    @Override
+    public Mono<RevisionSummary> summarizeRevisions(String assigneeId) {
+        return mongoTemplate.findOne(
+                        ReleaseQueries.archiveEpoch(), Document.class, ReleaseQueries.ARCHIVE_EPOCH_COLLECTION)
+                .map(ReleaseQueries::toArchiveEpoch)
+                .defaultIfEmpty(0L)
+                .flatMap(archiveEpoch -> mongoTemplate.aggregate(
+                                ReleaseQueries.revisionSummary(assigneeId),
+                                mongoTemplate.getCollectionName(Release.class),
+                                Document.class
+                        )
+                        .next()
+                        .map(result -> ReleaseQueries.toRevisionSummary(result, archiveEpoch))
+                        .defaultIfEmpty(ReleaseQueries.toRevisionSummary(null, archiveEpoch)));
+    }
+
+    @Override
+    public Flux<TaskWithRelease> findTasksForDeveloper(
+            String developerId,
+            TaskStatus status,
+            KeysetCursor after,
+            int limit
+    ) {
+        return mongoTemplate.aggregate(
+                ReleaseQueries.tasksForDeveloper(developerId, status, after, limit),
+                TaskWithRelease.class
+        );
+    }
+
+    @Override
+    public Flux<ReleaseSummary> findReleaseSummaries(KeysetCursor after, int limit) {
+        return mongoTemplate.aggregate(ReleaseQueries.releaseSummaries(after, limit), ReleaseSummary.class);
+    }
+
+    @Override
+    public Flux<Release> findReleasesChangedSince(Instant since, int batchSize) {
+        Flux<Release> active = mongoTemplate.find(ReleaseQueries.releasesChangedSince(since, batchSize), Release.class);
+        if (since != null) {
+            return active;
+        }
+        return active.concatWith(Flux.defer(() -> mongoTemplate.find(
+                ReleaseQueries.releasesChangedSince(null, batchSize), Release.class, ReleaseQueries.ARCHIVE_COLLECTION)));
+    }
+}
@@ -0,0 +1,241 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+
+// Read queries shared by the blocking and reactive repositories.
+final class ReleaseQueries {
+    static final String ARCHIVE_COLLECTION = "releases_archive";
+    static final String ARCHIVE_EPOCH_COLLECTION = "release_archive_epoch";
+    static final String ARCHIVE_EPOCH_ID = "releases";
+
+    private ReleaseQueries() {
+    }
+
+    // Oldest completions first, served by the completed_completedAt index.
+    static Query archivable(Instant completedBefore, int limit) {
+        Query query = new Query(Criteria.where("completed").is(true).and("completedAt").lt(completedBefore))
+                .with(Sort.by(Sort.Direction.ASC, "completedAt"))
+                .limit(limit);
+        query.fields().include("_id");
+        return query;
+    }
+
+    static Query revision(String releaseId) {
+        Query query = new Query(Criteria.where("_id").is(releaseId));
+        query.fields().include("revision");
+        return query;
+    }
+
+    static Long toRevision(Document document) {
+        if (document == null) {
+            return null;
+        }
+        Number revision = (Number) document.get("revision");
+        return revision == null ? null : revision.longValue();
+    }
+
+    static Aggregation revisionSummary(String assigneeId) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        if (assigneeId != null) {
+            pipeline.add(Aggregation.match(Criteria.where("tasks.assigneeId").is(assigneeId)));
+        }
+        pipeline.add(Aggregation.group().count().as("documents").sum("revision").as("revisions"));
+        return Aggregation.newAggregation(pipeline);
+    }
+
+    static RevisionSummary toRevisionSummary(Document result, long archiveEpoch) {
+        if (result == null) {
+            return new RevisionSummary(archiveEpoch, 0, 0);
+        }
+        return new RevisionSummary(
+                archiveEpoch,
+                ((Number) result.get("documents")).longValue(),
+                ((Number) result.get("revisions")).longValue()
+        );
+    }
+
+    static Query archiveEpoch() {
+        return new Query(Criteria.where("_id").is(ARCHIVE_EPOCH_ID));
+    }
+
+    static long toArchiveEpoch(Document document) {
+        Number epoch = document == null ? null : (Number) document.get("epoch");
+        return epoch == null ? 0 : epoch.longValue();
+    }
+
+    static TypedAggregation<Release> tasksForDeveloper(
+            String developerId,
+            TaskStatus status,
+            KeysetCursor after,
+            int limit
+    ) {
+        Criteria element = Criteria.where("assigneeId").is(developerId);
+        Criteria unwound = Criteria.where("tasks.assigneeId").is(developerId);
+        if (status != null) {
+            element = element.and("status").is(status.name());
+            unwound = unwound.and("tasks.status").is(status.name());
+        }
+        if (after != null) {
+            Date afterUpdatedAt = Date.from(after.timestamp());
+            unwound = unwound.orOperator(
+                    Criteria.where("tasks.updatedAt").lt(afterUpdatedAt),
+                    Criteria.where("tasks.updatedAt").is(afterUpdatedAt).and("tasks.id").lt(after.id())
+            );
+        }
+
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(Aggregation.match(Criteria.where("tasks").elemMatch(element)));
+        pipeline.add(Aggregation.unwind("tasks"));
+        pipeline.add(Aggregation.match(unwound));
+        pipeline.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "tasks.updatedAt", "tasks.id")));
+        if (limit > 0) {
+            pipeline.add(Aggregation.limit(limit));
+        }
+        pipeline.add(Aggregation.project().and("_id").as("releaseId").and("tasks").as("task").andExclude("_id"));
+        return Aggregation.newAggregation(Release.class, pipeline);
+    }
+
+    static TypedAggregation<Release> releaseSummaries(KeysetCursor after, int limit) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        if (after != null) {
+            Date afterCreatedAt = Date.from(after.timestamp());
+            pipeline.add(Aggregation.match(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("_id").lt(after.id())
+            )));
+        }
+        pipeline.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "createdAt", "_id")));
+        pipeline.add(Aggregation.limit(limit));
+        pipeline.add(context -> new Document("$project", new Document("name", 1)
+                .append("version", 1)
+                .append("createdAt", 1)
+                .append("completed", 1)
+                .append("completedAt", 1)
+                .append("lastActivityAt", 1)
+                .append("taskCount", new Document("$add", List.of("$todoCount", "$inProcessCount", "$completedCount")))
+                .append("todoCount", 1)
+                .append("inProcessCount", 1)
+                .append("completedCount", 1)));
+        return Aggregation.newAggregation(Release.class, pipeline);
+    }
+
+    static String countField(TaskStatus status) {
+        return switch (status) {
+            case TODO -> "todoCount";
+            case IN_PROCESS -> "inProcessCount";
+            case COMPLETED -> "completedCount";
+        };
+    }
+
+    // Moves one task between the release's status counters.
+    static Update countTransition(Update update, TaskStatus from, TaskStatus to, Instant at) {
+        return update.inc(countField(from), -1).inc(countField(to), 1).max("lastActivityAt", at);
+    }
+
+    static Update countAdded(Update update, List<Task> tasks) {
+        Map<TaskStatus, Long> added = tasks.stream()
+                .collect(Collectors.groupingBy(Task::getStatus, () -> new EnumMap<>(TaskStatus.class), Collectors.counting()));
+        added.forEach((status, count) -> update.inc(countField(status), count.intValue()));
+        tasks.stream().map(Task::getUpdatedAt).filter(Objects::nonNull).max(Comparator.naturalOrder())
+                .ifPresent(at -> update.max("lastActivityAt", at));
+        return update;
+    }
+
+    static Query progress(String releaseId) {
+        Query query = new Query(Criteria.where("_id").is(releaseId));
+        query.fields().exclude("tasks");
+        return query;
+    }
+
+    // Only succeeds while nothing changed since the counters were read and no task is still open.
+    static Query completable(String releaseId, Long expectedRevision) {
+        return new Query(Criteria.where("_id").is(releaseId)
+                .and("revision").is(expectedRevision)
+                .and("completed").is(false)
+                .and("todoCount").is(0)
+                .and("inProcessCount").is(0));
+    }
+
+    static Update markCompleted(Instant completedAt) {
+        return new Update()
+                .set("completed", true)
+                .set("completedAt", completedAt)
+                .set("lastCompletedAt", completedAt)
+                .max("lastActivityAt", completedAt)
+                .inc("revision", 1);
+    }
+
+    // Recounts the embedded tasks; lastActivityAt is the latest task update or completion, else createdAt.
+    static AggregationUpdate recountEmbeddedTasks() {
+        AggregationUpdate update = AggregationUpdate.update();
+        for (TaskStatus status : TaskStatus.values()) {
+            Document count = countTasksWithStatus(status);
+            update.set(countField(status)).toValue((AggregationExpression) context -> count);
+        }
+        Document lastActivity = new Document("$max",
+                List.of(new Document("$max", "$tasks.updatedAt"), "$lastCompletedAt", "$createdAt"));
+        return update.set("lastActivityAt").toValue((AggregationExpression) context -> lastActivity);
+    }
+
+    static Aggregation taskCountTotals() {
+        return Aggregation.newAggregation(Aggregation.group()
+                .sum("todoCount").as(TaskStatus.TODO.name())
+                .sum("inProcessCount").as(TaskStatus.IN_PROCESS.name())
+                .sum("completedCount").as(TaskStatus.COMPLETED.name()));
+    }
+
+    static Map<TaskStatus, Long> toTaskCountTotals(Document result) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        if (result != null) {
+            for (TaskStatus status : TaskStatus.values()) {
+                Number count = (Number) result.get(status.name());
+                counts.put(status, count == null ? 0L : count.longValue());
+            }
+        }
+        return counts;
+    }
+
+    private static Document countTasksWithStatus(TaskStatus status) {
+        Document filter = new Document("input", new Document("$ifNull", List.of("$tasks", List.of())))
+                .append("as", "task")
+                .append("cond", new Document("$eq", List.of("$$task.status", status.name())));
+        return new Document("$size", new Document("$filter", filter));
+    }
+
+    // lastActivityAt covers creation, every task change and completion, so an incremental export is one range scan
+    // of the lastActivityAt_id index in index order. A full export keeps creation order.
+    static Query releasesChangedSince(Instant since, int batchSize) {
+        Query query = new Query();
+        if (since != null) {
+            query.addCriteria(Criteria.where("lastActivityAt").gte(since));
+            query.with(Sort.by(Sort.Direction.ASC, "lastActivityAt", "_id"));
+        } else {
+            query.with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"));
+        }
+        query.cursorBatchSize(batchSize);
+        return query;
+    }
+}
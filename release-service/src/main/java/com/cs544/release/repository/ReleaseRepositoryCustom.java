@@ -0,0 +1,89 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+
+// findById, findAll and save are declared here so they also cover tasks kept in the tasks collection.
+// Lookups by release or task id fall through to releases_archive; every other query reads active releases only.
+public interface ReleaseRepositoryCustom {
+    Optional<Release> findById(String id);
+
+    List<Release> findAll();
+
+    <S extends Release> S save(S release);
+
+    // With tasks in the tasks collection, these two load only the task and the one at its orderIndex - 1,
+    // which is all a start or complete checks; embedded releases come back whole.
+    Optional<Release> findByTaskId(String taskId);
+
+    Optional<Release> findForTaskTransition(String releaseId, String taskId);
+
+    // With tasks in the tasks collection only the release header; the unique (releaseId, orderIndex) index
+    // then rejects a taken orderIndex when the tasks are inserted.
+    Optional<Release> findForTaskAppend(String releaseId);
+
+    List<TaskWithRelease> findTasksByStatus(TaskStatus status);
+
+    boolean transitionTask(
+            String releaseId,
+            String taskId,
+            String assigneeId,
+            TaskStatus expectedStatus,
+            TaskStatus newStatus,
+            Instant updatedAt
+    );
+
+    boolean appendTask(String releaseId, Task task, boolean reopenRelease);
+
+    boolean appendTasks(String releaseId, List<Task> tasks, boolean reopenRelease);
+
+    Optional<Release> findProgress(String releaseId);
+
+    boolean markCompleted(String releaseId, Long expectedRevision, Instant completedAt);
+
+    long initializeMissingRevisions();
+
+    long initializeMissingTaskCounts();
+
+    long recountTasks(String releaseId);
+
+    List<String> findArchivableIds(Instant completedBefore, int limit);
+
+    Optional<Release> archive(String releaseId, Instant completedBefore, Instant archivedAt);
+
+    boolean restore(String releaseId);
+
+    void ensureArchiveIndexes();
+
+    TierSize measureActiveTier();
+
+    TierSize measureArchiveTier();
+
+    Long findRevision(String releaseId);
+
+    RevisionSummary summarizeRevisions(String assigneeId);
+
+    // Called outside the archive transaction, once before and once after it, so list ETags never repeat.
+    void advanceArchiveEpoch();
+
+    List<TaskWithRelease> findTasksForDeveloper(String developerId, TaskStatus status, KeysetCursor after, int limit);
+
+    List<ReleaseSummary> findReleaseSummaries(KeysetCursor after, int limit);
+
+    Stream<Release> streamReleasesChangedSince(Instant since, int batchSize);
+
+    Map<TaskStatus, Long> countTasksByStatus();
+
+    Stream<TaskWithRelease> streamStaleTasks(Instant updatedBefore, Instant remindedBefore, int batchSize);
+
+    boolean markReminderSent(String releaseId, String taskId, Instant previousReminderAt, Instant sentAt);
+}
@@ -0,0 +1,427 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskDocument;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+
+public class ReleaseRepositoryImpl implements ReleaseRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+    // Set when release.tasks.storage=collection; null while tasks are embedded in the release.
+    private final TaskCollectionStore taskStore;
+
+    public ReleaseRepositoryImpl(
+            MongoTemplate mongoTemplate,
+            @Value("${release.tasks.storage:embedded}") TaskStorage taskStorage,
+            @Value("${release.outbox.transactional:true}") boolean transactional
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        if (taskStorage == TaskStorage.COLLECTION && !transactional) {
+            throw new IllegalStateException("release.tasks.storage=collection requires release.outbox.transactional=true.");
+        }
+        this.taskStore = taskStorage == TaskStorage.COLLECTION ? new TaskCollectionStore(mongoTemplate) : null;
+    }
+
+    @Override
+    public Optional<Release> findById(String id) {
+        Optional<Release> active = taskStore != null
+                ? taskStore.findById(id)
+                : Optional.ofNullable(mongoTemplate.findById(id, Release.class));
+        return active.or(() -> Optional.ofNullable(
+                mongoTemplate.findById(id, Release.class, ReleaseQueries.ARCHIVE_COLLECTION)));
+    }
+
+    @Override
+    public List<Release> findAll() {
+        if (taskStore != null) {
+            return taskStore.findAll();
+        }
+        return mongoTemplate.findAll(Release.class);
+    }
+
+    @Override
+    public <S extends Release> S save(S release) {
+        if (taskStore != null) {
+            return taskStore.save(release);
+        }
+        return mongoTemplate.save(release);
+    }
+
+    @Override
+    public Optional<Release> findByTaskId(String taskId) {
+        Query query = new Query(Criteria.where("tasks.id").is(taskId));
+        Optional<Release> active = taskStore != null
+                ? taskStore.findByTaskId(taskId)
+                : Optional.ofNullable(mongoTemplate.findOne(query, Release.class));
+        return active.or(() -> Optional.ofNullable(
+                mongoTemplate.findOne(query, Release.class, ReleaseQueries.ARCHIVE_COLLECTION)));
+    }
+
+    @Override
+    public Optional<Release> findForTaskTransition(String releaseId, String taskId) {
+        if (taskStore == null) {
+            return findById(releaseId);
+        }
+        return taskStore.findForTaskTransition(releaseId, taskId).or(() -> Optional.ofNullable(
+                mongoTemplate.findById(releaseId, Release.class, ReleaseQueries.ARCHIVE_COLLECTION)));
+    }
+
+    @Override
+    public Optional<Release> findForTaskAppend(String releaseId) {
+        return taskStore == null ? findById(releaseId) : findProgress(releaseId);
+    }
+
+    @Override
+    public List<TaskWithRelease> findTasksByStatus(TaskStatus status) {
+        if (taskStore != null) {
+            return taskStore.findTasksByStatus(status);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Release.class,
+                Aggregation.match(Criteria.where("tasks.status").is(status.name())),
+                Aggregation.unwind("tasks"),
+                Aggregation.match(Criteria.where("tasks.status").is(status.name())),
+                Aggregation.project().and("_id").as("releaseId").and("tasks").as("task").andExclude("_id")
+        );
+        return mongoTemplate.aggregate(aggregation, TaskWithRelease.class).getMappedResults();
+    }
+
+    @Override
+    public boolean transitionTask(
+            String releaseId,
+            String taskId,
+            String assigneeId,
+            TaskStatus expectedStatus,
+            TaskStatus newStatus,
+            Instant updatedAt
+    ) {
+        if (taskStore != null) {
+            return taskStore.transitionTask(releaseId, taskId, assigneeId, expectedStatus, newStatus, updatedAt);
+        }
+        Query query = new Query(Criteria.where("_id").is(releaseId)
+                .and("tasks").elemMatch(Criteria.where("id").is(taskId)
+                        .and("status").is(expectedStatus)
+                        .and("assigneeId").is(assigneeId)));
+        Update update = new Update()
+                .set("tasks.$.status", newStatus)
+                .set("tasks.$.updatedAt", updatedAt)
+                .inc("revision", 1);
+        ReleaseQueries.countTransition(update, expectedStatus, newStatus, updatedAt);
+        return mongoTemplate.updateFirst(query, update, Release.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean appendTask(String releaseId, Task task, boolean reopenRelease) {
+        return appendTasks(releaseId, List.of(task), reopenRelease);
+    }
+
+    @Override
+    public boolean appendTasks(String releaseId, List<Task> tasks, boolean reopenRelease) {
+        if (taskStore != null) {
+            return taskStore.appendTasks(releaseId, tasks, reopenRelease);
+        }
+        List<Integer> orderIndexes = tasks.stream().map(Task::getOrderIndex).toList();
+        Criteria criteria = Criteria.where("_id").is(releaseId)
+                .and("tasks.orderIndex").nin(orderIndexes)
+                .and("completed").is(reopenRelease);
+        Update update = new Update()
+                .push("tasks").sort(Sort.by(Sort.Direction.ASC, "orderIndex")).each(tasks.toArray())
+                .inc("revision", 1);
+        ReleaseQueries.countAdded(update, tasks);
+        if (reopenRelease) {
+            update.set("completed", false).unset("completedAt");
+        }
+        return mongoTemplate.updateFirst(new Query(criteria), update, Release.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public Optional<Release> findProgress(String releaseId) {
+        Release release = mongoTemplate.findOne(ReleaseQueries.progress(releaseId), Release.class);
+        if (release == null) {
+            release = mongoTemplate.findOne(
+                    ReleaseQueries.progress(releaseId), Release.class, ReleaseQueries.ARCHIVE_COLLECTION);
+        }
+        if (release == null) {
+            return Optional.empty();
+        }
+        release.setTasks(null);
+        return Optional.of(release);
+    }
+
+    @Override
+    public boolean markCompleted(String releaseId, Long expectedRevision, Instant completedAt) {
+        return mongoTemplate.updateFirst(
+                ReleaseQueries.completable(releaseId, expectedRevision),
+                ReleaseQueries.markCompleted(completedAt),
+                Release.class
+        ).getModifiedCount() == 1;
+    }
+
+    @Override
+    public long initializeMissingRevisions() {
+        Query query = new Query(Criteria.where("revision").exists(false));
+        return mongoTemplate.updateMulti(query, new Update().set("revision", 0L), Release.class).getModifiedCount();
+    }
+
+    @Override
+    public long initializeMissingTaskCounts() {
+        return recount(new Query(Criteria.where("todoCount").exists(false)));
+    }
+
+    // Counters are recomputed from the tasks themselves; a null releaseId repairs every release.
+    @Override
+    public long recountTasks(String releaseId) {
+        return recount(releaseId == null ? new Query() : new Query(Criteria.where("_id").is(releaseId)));
+    }
+
+    @Override
+    public List<String> findArchivableIds(Instant completedBefore, int limit) {
+        return mongoTemplate.find(ReleaseQueries.archivable(completedBefore, limit), Release.class).stream()
+                .map(Release::getId)
+                .toList();
+    }
+
+    // Copies the release, with its tasks embedded, into the archive and then removes it from the active
+    // collections unless it changed since it was read. Readers find it in one place or the other throughout.
+    @Override
+    public Optional<Release> archive(String releaseId, Instant completedBefore, Instant archivedAt) {
+        Release release = taskStore != null
+                ? taskStore.findById(releaseId).orElse(null)
+                : mongoTemplate.findById(releaseId, Release.class);
+        if (release == null || !release.isCompleted() || release.getCompletedAt() == null
+                || !release.getCompletedAt().isBefore(completedBefore)) {
+            return Optional.empty();
+        }
+        release.setArchivedAt(archivedAt);
+        Query byId = new Query(Criteria.where("_id").is(releaseId));
+        // Replaces a copy left behind by an interrupted run.
+        mongoTemplate.remove(byId, Release.class, ReleaseQueries.ARCHIVE_COLLECTION);
+        mongoTemplate.insert(release, ReleaseQueries.ARCHIVE_COLLECTION);
+
+        Query unchanged = new Query(Criteria.where("_id").is(releaseId)
+                .and("revision").is(release.getRevision())
+                .and("completed").is(true));
+        if (mongoTemplate.remove(unchanged, Release.class).getDeletedCount() != 1) {
+            mongoTemplate.remove(byId, Release.class, ReleaseQueries.ARCHIVE_COLLECTION);
+            return Optional.empty();
+        }
+        if (taskStore != null) {
+            taskStore.removeTasks(releaseId);
+        }
+        return Optional.of(release);
+    }
+
+    @Override
+    public boolean restore(String releaseId) {
+        Query byId = new Query(Criteria.where("_id").is(releaseId));
+        Release release = mongoTemplate.findOne(byId, Release.class, ReleaseQueries.ARCHIVE_COLLECTION);
+        if (release == null) {
+            return false;
+        }
+        release.setArchivedAt(null);
+        try {
+            if (taskStore != null) {
+                taskStore.insert(release);
+            } else {
+                mongoTemplate.insert(release);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            throw new OptimisticLockingFailureException("Release " + releaseId + " was restored concurrently.", ex);
+        }
+        mongoTemplate.remove(byId, Release.class, ReleaseQueries.ARCHIVE_COLLECTION);
+        return true;
+    }
+
+    @Override
+    public void ensureArchiveIndexes() {
+        mongoTemplate.indexOps(ReleaseQueries.ARCHIVE_COLLECTION)
+                .ensureIndex(new Index().on("tasks.id", Sort.Direction.ASC).named("tasks_id"));
+    }
+
+    @Override
+    public TierSize measureActiveTier() {
+        String releases = mongoTemplate.getCollectionName(Release.class);
+        return measureTier(releases, taskStore != null
+                ? List.of(releases, mongoTemplate.getCollectionName(TaskDocument.class))
+                : List.of(releases));
+    }
+
+    @Override
+    public TierSize measureArchiveTier() {
+        return measureTier(ReleaseQueries.ARCHIVE_COLLECTION, List.of(ReleaseQueries.ARCHIVE_COLLECTION));
+    }
+
+    private TierSize measureTier(String releaseCollection, List<String> storedIn) {
+        long tasks = countTasksByStatus(releaseCollection).values().stream().mapToLong(Long::longValue).sum();
+        long dataBytes = 0;
+        long indexBytes = 0;
+        for (String collection : storedIn) {
+            // collStats fails for a collection that has not been created yet.
+            if (!mongoTemplate.collectionExists(collection)) {
+                continue;
+            }
+            Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+            dataBytes += ((Number) stats.getOrDefault("size", 0)).longValue();
+            indexBytes += ((Number) stats.getOrDefault("totalIndexSize", 0)).longValue();
+        }
+        return new TierSize(mongoTemplate.estimatedCount(releaseCollection), tasks, dataBytes, indexBytes);
+    }
+
+    private long recount(Query releases) {
+        if (taskStore != null) {
+            return taskStore.recountTasks(releases);
+        }
+        return mongoTemplate.updateMulti(releases, ReleaseQueries.recountEmbeddedTasks(), Release.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public Long findRevision(String releaseId) {
+        Document active = mongoTemplate.findOne(
+                ReleaseQueries.revision(releaseId),
+                Document.class,
+                mongoTemplate.getCollectionName(Release.class)
+        );
+        return ReleaseQueries.toRevision(active != null ? active : mongoTemplate.findOne(
+                ReleaseQueries.revision(releaseId),
+                Document.class,
+                ReleaseQueries.ARCHIVE_COLLECTION
+        ));
+    }
+
+    @Override
+    public RevisionSummary summarizeRevisions(String assigneeId) {
+        long archiveEpoch = ReleaseQueries.toArchiveEpoch(mongoTemplate.findOne(
+                ReleaseQueries.archiveEpoch(), Document.class, ReleaseQueries.ARCHIVE_EPOCH_COLLECTION));
+        if (taskStore != null && assigneeId != null) {
+            return taskStore.summarizeTaskRevisions(assigneeId, archiveEpoch);
+        }
+        return ReleaseQueries.toRevisionSummary(mongoTemplate.aggregate(
+                ReleaseQueries.revisionSummary(assigneeId),
+                mongoTemplate.getCollectionName(Release.class),
+                Document.class
+        ).getUniqueMappedResult(), archiveEpoch);
+    }
+
+    @Override
+    public void advanceArchiveEpoch() {
+        mongoTemplate.upsert(
+                ReleaseQueries.archiveEpoch(),
+                new Update().inc("epoch", 1L),
+                ReleaseQueries.ARCHIVE_EPOCH_COLLECTION
+        );
+    }
+
+    @Override
+    public List<TaskWithRelease> findTasksForDeveloper(
+            String developerId,
+            TaskStatus status,
+            KeysetCursor after,
+            int limit
+    ) {
+        if (taskStore != null) {
+            return taskStore.findTasksForDeveloper(developerId, status, after, limit);
+        }
+        return mongoTemplate.aggregate(
+                ReleaseQueries.tasksForDeveloper(developerId, status, after, limit),
+                TaskWithRelease.class
+        ).getMappedResults();
+    }
+
+    @Override
+    public List<ReleaseSummary> findReleaseSummaries(KeysetCursor after, int limit) {
+        return mongoTemplate.aggregate(ReleaseQueries.releaseSummaries(after, limit), ReleaseSummary.class)
+                .getMappedResults();
+    }
+
+    // A full export (no since) also covers archived releases, after the active ones.
+    @Override
+    public Stream<Release> streamReleasesChangedSince(Instant since, int batchSize) {
+        Stream<Release> active = taskStore != null
+                ? taskStore.streamReleasesChangedSince(since, batchSize)
+                : mongoTemplate.stream(ReleaseQueries.releasesChangedSince(since, batchSize), Release.class);
+        if (since != null) {
+            return active;
+        }
+        return Stream.concat(active, mongoTemplate.stream(
+                ReleaseQueries.releasesChangedSince(null, batchSize), Release.class, ReleaseQueries.ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countTasksByStatus() {
+        return countTasksByStatus(mongoTemplate.getCollectionName(Release.class));
+    }
+
+    private Map<TaskStatus, Long> countTasksByStatus(String collectionName) {
+        return ReleaseQueries.toTaskCountTotals(mongoTemplate.aggregate(
+                ReleaseQueries.taskCountTotals(),
+                collectionName,
+                Document.class
+        ).getUniqueMappedResult());
+    }
+
+    @Override
+    public Stream<TaskWithRelease> streamStaleTasks(Instant updatedBefore, Instant remindedBefore, int batchSize) {
+        if (taskStore != null) {
+            return taskStore.streamStaleTasks(updatedBefore, remindedBefore, batchSize);
+        }
+        Date cutoff = Date.from(updatedBefore);
+        Date reminderCutoff = Date.from(remindedBefore);
+        Criteria element = Criteria.where("status").is(TaskStatus.IN_PROCESS.name())
+                .and("updatedAt").lt(cutoff)
+                .orOperator(
+                        Criteria.where("lastReminderAt").is(null),
+                        Criteria.where("lastReminderAt").lt(reminderCutoff)
+                );
+        Criteria unwound = Criteria.where("tasks.status").is(TaskStatus.IN_PROCESS.name())
+                .and("tasks.updatedAt").lt(cutoff)
+                .orOperator(
+                        Criteria.where("tasks.lastReminderAt").is(null),
+                        Criteria.where("tasks.lastReminderAt").lt(reminderCutoff)
+                );
+        Aggregation aggregation = Aggregation.newAggregation(
+                Release.class,
+                Aggregation.match(Criteria.where("tasks").elemMatch(element)),
+                Aggregation.unwind("tasks"),
+                Aggregation.match(unwound),
+                Aggregation.project().and("_id").as("releaseId").and("tasks").as("task").andExclude("_id")
+        ).withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+        return mongoTemplate.aggregateStream(aggregation, TaskWithRelease.class);
+    }
+
+    @Override
+    public boolean markReminderSent(String releaseId, String taskId, Instant previousReminderAt, Instant sentAt) {
+        if (taskStore != null) {
+            return taskStore.markReminderSent(releaseId, taskId, previousReminderAt, sentAt);
+        }
+        Query query = new Query(Criteria.where("_id").is(releaseId)
+                .and("tasks").elemMatch(Criteria.where("id").is(taskId)
+                        .and("status").is(TaskStatus.IN_PROCESS)
+                        .and("lastReminderAt").is(previousReminderAt)));
+        // Reminder bookkeeping is not a change to the release, so the revision (and with it every ETag) stays.
+        Update update = new Update().set("tasks.$.lastReminderAt", sentAt);
+        return mongoTemplate.updateFirst(query, update, Release.class).getModifiedCount() == 1;
+    }
+}
@@ -0,0 +1,6 @@
+package com.cs544.release.repository;
+
+// Release writes always bump a release's version, so the sum only grows while the matched set is unchanged.
+// Archiving is the only write that shrinks the set, and it advances the archive epoch instead.
+public record RevisionSummary(long archiveEpoch, long documents, long revisions) {
+}
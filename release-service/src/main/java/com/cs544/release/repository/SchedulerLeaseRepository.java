@@ -0,0 +1,8 @@
+package com.cs544.release.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.cs544.release.model.SchedulerLease;
+
+public interface SchedulerLeaseRepository extends MongoRepository<SchedulerLease, String>, SchedulerLeaseRepositoryCustom {
+}
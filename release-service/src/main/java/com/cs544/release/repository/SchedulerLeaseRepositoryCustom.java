@@ -0,0 +1,15 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import com.cs544.release.model.SchedulerLease;
+
+public interface SchedulerLeaseRepositoryCustom {
+    SchedulerLease tryAcquire(String name, String owner, Instant now, Instant expiresAt);
+
+    SchedulerLease renew(String name, String owner, long fencingToken, Instant expiresAt);
+
+    void holdUntil(String name, String owner, long fencingToken, Instant expiresAt);
+
+    boolean fence(String name, String owner, long fencingToken);
+}
@@ -0,0 +1,75 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.SchedulerLease;
+
+public class SchedulerLeaseRepositoryImpl implements SchedulerLeaseRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public SchedulerLeaseRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public SchedulerLease tryAcquire(String name, String owner, Instant now, Instant expiresAt) {
+        Query query = new Query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("expiresAt").lt(now),
+                Criteria.where("owner").is(owner)
+        ));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("acquiredAt", now)
+                .set("expiresAt", expiresAt)
+                .inc("fencingToken", 1);
+        try {
+            return mongoTemplate.findAndModify(
+                    query,
+                    update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    SchedulerLease.class
+            );
+        } catch (DuplicateKeyException ex) {
+            // Another owner holds an unexpired lease, so the upsert collided with the existing document.
+            return null;
+        }
+    }
+
+    @Override
+    public SchedulerLease renew(String name, String owner, long fencingToken, Instant expiresAt) {
+        Query query = new Query(Criteria.where("_id").is(name)
+                .and("owner").is(owner)
+                .and("fencingToken").is(fencingToken));
+        return mongoTemplate.findAndModify(
+                query,
+                new Update().set("expiresAt", expiresAt),
+                FindAndModifyOptions.options().returnNew(true),
+                SchedulerLease.class
+        );
+    }
+
+    @Override
+    public void holdUntil(String name, String owner, long fencingToken, Instant expiresAt) {
+        Query query = new Query(Criteria.where("_id").is(name)
+                .and("owner").is(owner)
+                .and("fencingToken").is(fencingToken));
+        mongoTemplate.updateFirst(query, new Update().set("expiresAt", expiresAt), SchedulerLease.class);
+    }
+
+    // Always modifies the document, so inside a transaction it write-conflicts with a concurrent takeover.
+    @Override
+    public boolean fence(String name, String owner, long fencingToken) {
+        Query query = new Query(Criteria.where("_id").is(name)
+                .and("owner").is(owner)
+                .and("fencingToken").is(fencingToken));
+        return mongoTemplate.updateFirst(query, new Update().inc("fencedWrites", 1), SchedulerLease.class)
+                .getModifiedCount() == 1;
+    }
+}
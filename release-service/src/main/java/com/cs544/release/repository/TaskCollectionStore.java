@@ -0,0 +1,289 @@
+package com.cs544.release.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskDocument;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+
+// ReleaseRepository operations for release.tasks.storage=collection. Task writes bump the owning
+// release's revision and status counters as well, so release ETags, optimistic checks and progress
+// reads behave as with embedded tasks.
+final class TaskCollectionStore {
+    private final MongoTemplate mongoTemplate;
+
+    TaskCollectionStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    Optional<Release> findById(String releaseId) {
+        Release release = mongoTemplate.findById(releaseId, Release.class);
+        if (release == null) {
+            return Optional.empty();
+        }
+        release.setTasks(tasksOf(releaseId));
+        return Optional.of(release);
+    }
+
+    List<Release> findAll() {
+        List<Release> releases = mongoTemplate.findAll(Release.class);
+        Query query = new Query(Criteria.where("releaseId").in(releases.stream().map(Release::getId).toList()))
+                .with(Sort.by(Sort.Direction.ASC, "releaseId", "orderIndex"));
+        Map<String, List<Task>> tasks = mongoTemplate.find(query, TaskDocument.class).stream()
+                .collect(Collectors.groupingBy(
+                        TaskDocument::getReleaseId,
+                        Collectors.mapping(TaskDocument::toTask, Collectors.toCollection(ArrayList::new))
+                ));
+        for (Release release : releases) {
+            release.setTasks(tasks.getOrDefault(release.getId(), new ArrayList<>()));
+        }
+        return releases;
+    }
+
+    Optional<Release> findByTaskId(String taskId) {
+        TaskDocument task = mongoTemplate.findById(taskId, TaskDocument.class);
+        return task == null ? Optional.empty() : withTransitionTasks(task.getReleaseId(), task);
+    }
+
+    Optional<Release> findForTaskTransition(String releaseId, String taskId) {
+        TaskDocument task = mongoTemplate.findOne(
+                new Query(Criteria.where("_id").is(taskId).and("releaseId").is(releaseId)), TaskDocument.class);
+        return withTransitionTasks(releaseId, task);
+    }
+
+    // The release document is written without its tasks, which are saved through appendTasks.
+    <S extends Release> S save(S release) {
+        List<Task> tasks = release.getTasks();
+        release.setTasks(null);
+        try {
+            return mongoTemplate.save(release);
+        } finally {
+            release.setTasks(tasks);
+        }
+    }
+
+    void insert(Release release) {
+        List<Task> tasks = release.getTasks();
+        release.setTasks(null);
+        try {
+            mongoTemplate.insert(release);
+        } finally {
+            release.setTasks(tasks);
+        }
+        if (tasks != null && !tasks.isEmpty()) {
+            mongoTemplate.insertAll(tasks.stream().map(task -> TaskDocument.of(release.getId(), task)).toList());
+        }
+    }
+
+    void removeTasks(String releaseId) {
+        mongoTemplate.remove(new Query(Criteria.where("releaseId").is(releaseId)), TaskDocument.class);
+    }
+
+    boolean transitionTask(
+            String releaseId,
+            String taskId,
+            String assigneeId,
+            TaskStatus expectedStatus,
+            TaskStatus newStatus,
+            Instant updatedAt
+    ) {
+        Query query = new Query(Criteria.where("_id").is(taskId)
+                .and("releaseId").is(releaseId)
+                .and("status").is(expectedStatus)
+                .and("assigneeId").is(assigneeId));
+        Update update = new Update()
+                .set("status", newStatus)
+                .set("updatedAt", updatedAt)
+                .inc("revision", 1);
+        if (mongoTemplate.updateFirst(query, update, TaskDocument.class).getModifiedCount() != 1) {
+            return false;
+        }
+        updateRelease(releaseId, ReleaseQueries.countTransition(
+                new Update().inc("revision", 1), expectedStatus, newStatus, updatedAt));
+        return true;
+    }
+
+    // The unique (releaseId, orderIndex) index takes the place of the embedded orderIndex check, so the
+    // caller only needs the release header.
+    boolean appendTasks(String releaseId, List<Task> tasks, boolean reopenRelease) {
+        Query query = new Query(Criteria.where("_id").is(releaseId).and("completed").is(reopenRelease));
+        Update update = ReleaseQueries.countAdded(new Update().inc("revision", 1), tasks);
+        if (reopenRelease) {
+            update.set("completed", false).unset("completedAt");
+        }
+        if (mongoTemplate.updateFirst(query, update, Release.class).getModifiedCount() != 1) {
+            return false;
+        }
+        try {
+            mongoTemplate.insertAll(tasks.stream().map(task -> TaskDocument.of(releaseId, task)).toList());
+        } catch (DuplicateKeyException ex) {
+            throw new IllegalArgumentException("orderIndex is already used by another task.", ex);
+        }
+        return true;
+    }
+
+    RevisionSummary summarizeTaskRevisions(String assigneeId, long archiveEpoch) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("assigneeId").is(assigneeId)),
+                Aggregation.group().count().as("documents").sum("revision").as("revisions")
+        );
+        return ReleaseQueries.toRevisionSummary(mongoTemplate.aggregate(
+                aggregation,
+                mongoTemplate.getCollectionName(TaskDocument.class),
+                Document.class
+        ).getUniqueMappedResult(), archiveEpoch);
+    }
+
+    List<TaskWithRelease> findTasksForDeveloper(String developerId, TaskStatus status, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("assigneeId").is(developerId);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("updatedAt").lt(after.timestamp()),
+                    Criteria.where("updatedAt").is(after.timestamp()).and("_id").lt(after.id())
+            );
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "updatedAt", "_id"));
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        return mongoTemplate.find(query, TaskDocument.class).stream().map(TaskDocument::toTaskWithRelease).toList();
+    }
+
+    Stream<Release> streamReleasesChangedSince(Instant since, int batchSize) {
+        Query query = ReleaseQueries.releasesChangedSince(since, batchSize);
+        return mongoTemplate.stream(query, Release.class).map(release -> {
+            release.setTasks(tasksOf(release.getId()));
+            return release;
+        });
+    }
+
+    List<TaskWithRelease> findTasksByStatus(TaskStatus status) {
+        return mongoTemplate.find(new Query(Criteria.where("status").is(status)), TaskDocument.class).stream()
+                .map(TaskDocument::toTaskWithRelease)
+                .toList();
+    }
+
+    Stream<TaskWithRelease> streamStaleTasks(Instant updatedBefore, Instant remindedBefore, int batchSize) {
+        Query query = new Query(Criteria.where("status").is(TaskStatus.IN_PROCESS)
+                .and("updatedAt").lt(Date.from(updatedBefore))
+                .orOperator(
+                        Criteria.where("lastReminderAt").is(null),
+                        Criteria.where("lastReminderAt").lt(Date.from(remindedBefore))
+                ));
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, TaskDocument.class).map(TaskDocument::toTaskWithRelease);
+    }
+
+    boolean markReminderSent(String releaseId, String taskId, Instant previousReminderAt, Instant sentAt) {
+        Query query = new Query(Criteria.where("_id").is(taskId)
+                .and("releaseId").is(releaseId)
+                .and("status").is(TaskStatus.IN_PROCESS)
+                .and("lastReminderAt").is(previousReminderAt));
+        Update update = new Update().set("lastReminderAt", sentAt);
+        return mongoTemplate.updateFirst(query, update, TaskDocument.class).getModifiedCount() == 1;
+    }
+
+    long recountTasks(Query releases) {
+        releases.fields().include("createdAt").include("lastCompletedAt");
+        List<Release> targets = mongoTemplate.find(releases, Release.class);
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        GroupOperation group = Aggregation.group("releaseId").max("updatedAt").as("lastActivityAt");
+        for (TaskStatus status : TaskStatus.values()) {
+            group = group.sum(ConditionalOperators.when(Criteria.where("status").is(status.name())).then(1).otherwise(0))
+                    .as(ReleaseQueries.countField(status));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("releaseId").in(targets.stream().map(Release::getId).toList())),
+                group
+        );
+        Map<String, Document> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(
+                aggregation, mongoTemplate.getCollectionName(TaskDocument.class), Document.class)) {
+            counts.put(row.getString("_id"), row);
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Release.class);
+        for (Release release : targets) {
+            Document row = counts.getOrDefault(release.getId(), new Document());
+            Update update = new Update();
+            for (TaskStatus status : TaskStatus.values()) {
+                Number count = (Number) row.get(ReleaseQueries.countField(status));
+                update.set(ReleaseQueries.countField(status), count == null ? 0 : count.intValue());
+            }
+            update.set("lastActivityAt", lastActivity(row.getDate("lastActivityAt"), release));
+            bulk.updateOne(new Query(Criteria.where("_id").is(release.getId())), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    // The latest task update or completion, else createdAt, as recountEmbeddedTasks computes it.
+    private static Instant lastActivity(Date lastTaskUpdate, Release release) {
+        Instant latest = later(release.getCreatedAt(), lastTaskUpdate == null ? null : lastTaskUpdate.toInstant());
+        return later(latest, release.getLastCompletedAt());
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        return candidate != null && (current == null || candidate.isAfter(current)) ? candidate : current;
+    }
+
+    private List<Task> tasksOf(String releaseId) {
+        Query query = new Query(Criteria.where("releaseId").is(releaseId))
+                .with(Sort.by(Sort.Direction.ASC, "orderIndex"));
+        return mongoTemplate.find(query, TaskDocument.class).stream()
+                .map(TaskDocument::toTask)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    // A start or complete only reads the task and its predecessor, so it costs the same however many tasks
+    // the release has. A missing task leaves the release without tasks and is reported by the caller.
+    private Optional<Release> withTransitionTasks(String releaseId, TaskDocument task) {
+        Release release = mongoTemplate.findById(releaseId, Release.class);
+        if (release == null) {
+            return Optional.empty();
+        }
+        List<Task> tasks = new ArrayList<>();
+        if (task != null) {
+            TaskDocument previous = task.getOrderIndex() > 1
+                    ? mongoTemplate.findOne(new Query(Criteria.where("releaseId").is(releaseId)
+                            .and("orderIndex").is(task.getOrderIndex() - 1)), TaskDocument.class)
+                    : null;
+            if (previous != null) {
+                tasks.add(previous.toTask());
+            }
+            tasks.add(task.toTask());
+        }
+        release.setTasks(tasks);
+        return Optional.of(release);
+    }
+
+    private void updateRelease(String releaseId, Update update) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(releaseId)), update, Release.class);
+    }
+}
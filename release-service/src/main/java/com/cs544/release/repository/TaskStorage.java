@@ -0,0 +1,7 @@
+package com.cs544.release.repository;
+
+// Where release tasks are stored, selected by release.tasks.storage.
+public enum TaskStorage {
+    EMBEDDED,
+    COLLECTION
+}
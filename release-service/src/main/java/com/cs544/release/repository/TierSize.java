@@ -0,0 +1,5 @@
+package com.cs544.release.repository;
+
+// Size of one storage tier. Bytes come from collStats and include the tasks collection when tasks are stored there.
+public record TierSize(long releases, long tasks, long dataBytes, long indexBytes) {
+}
@@ -0,0 +1,51 @@
+package com.cs544.release.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJwtAuthFilter implements WebFilter {
+    private final JwtUtil jwtUtil;
+    private final ReactiveAuthServiceClient authServiceClient;
+    private final boolean validateEnabled;
+
+    public ReactiveJwtAuthFilter(JwtUtil jwtUtil, ReactiveAuthServiceClient authServiceClient,
+            @org.springframework.beans.factory.annotation.Value("${auth.validate.enabled:false}") boolean validateEnabled) {
+        this.jwtUtil = jwtUtil;
+        this.authServiceClient = authServiceClient;
+        this.validateEnabled = validateEnabled;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        String token = header.substring(7);
+        Mono<Boolean> validated = validateEnabled ? authServiceClient.validate(token) : Mono.just(true);
+        return validated.flatMap(valid -> {
+            if (!valid) {
+                return chain.filter(exchange);
+            }
+            var claims = jwtUtil.parse(token);
+            String role = claims.get("role", String.class);
+            java.util.List<GrantedAuthority> authorities = role == null
+                    ? java.util.Collections.emptyList()
+                    : java.util.List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            var auth = new UsernamePasswordAuthenticationToken(claims.getSubject(), token, authorities);
+            return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.cs544.release.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.model.DeveloperActiveTask;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+import com.cs544.release.repository.DeveloperActiveTaskRepository;
+import com.cs544.release.repository.ReleaseRepository;
+
+@Component
+public class ActiveTaskIndex {
+    private final DeveloperActiveTaskRepository activeTaskRepository;
+    private final ReleaseRepository releaseRepository;
+    private final Duration claimGrace;
+
+    public ActiveTaskIndex(
+            DeveloperActiveTaskRepository activeTaskRepository,
+            ReleaseRepository releaseRepository,
+            @Value("${release.tasks.active-claim-grace-ms:30000}") long claimGraceMs
+    ) {
+        this.activeTaskRepository = activeTaskRepository;
+        this.releaseRepository = releaseRepository;
+        this.claimGrace = Duration.ofMillis(claimGraceMs);
+    }
+
+    public boolean claim(String developerId, String releaseId, String taskId) {
+        DeveloperActiveTask entry = new DeveloperActiveTask(developerId, releaseId, taskId, Instant.now());
+        try {
+            activeTaskRepository.insert(entry);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            if (!removeIfStale(developerId)) {
+                return false;
+            }
+        }
+        try {
+            activeTaskRepository.insert(entry);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void release(String developerId, String taskId) {
+        activeTaskRepository.deleteByDeveloperIdAndTaskId(developerId, taskId);
+    }
+
+    public void rebuild() {
+        for (TaskWithRelease active : releaseRepository.findTasksByStatus(TaskStatus.IN_PROCESS)) {
+            Task task = active.task();
+            if (task.getAssigneeId() == null) {
+                continue;
+            }
+            try {
+                activeTaskRepository.insert(new DeveloperActiveTask(
+                        task.getAssigneeId(), active.releaseId(), task.getId(), task.getUpdatedAt()));
+            } catch (DuplicateKeyException ex) {
+                // Already indexed, possibly by another replica starting at the same time.
+            }
+        }
+    }
+
+    // An entry outlives its task only if a start was interrupted between the claim and the task update.
+    // A claim younger than the grace period may still be on its way to the task update, so it is kept;
+    // the delete is conditional on the same claim still being there and still being old enough.
+    private boolean removeIfStale(String developerId) {
+        Optional<DeveloperActiveTask> existing = activeTaskRepository.findById(developerId);
+        if (existing.isEmpty()) {
+            return true;
+        }
+        DeveloperActiveTask entry = existing.get();
+        Instant cutoff = Instant.now().minus(claimGrace);
+        if (entry.getStartedAt() != null && !entry.getStartedAt().isBefore(cutoff)) {
+            return false;
+        }
+        boolean stillActive = releaseRepository.findByTaskId(entry.getTaskId())
+                .map(release -> release.getTasks().stream()
+                        .anyMatch(task -> entry.getTaskId().equals(task.getId())
+                                && developerId.equals(task.getAssigneeId())
+                                && task.getStatus() == TaskStatus.IN_PROCESS))
+                .orElse(false);
+        if (stillActive) {
+            return false;
+        }
+        return activeTaskRepository.deleteByDeveloperIdAndTaskIdAndStartedAtBefore(
+                developerId, entry.getTaskId(), cutoff) > 0;
+    }
+}
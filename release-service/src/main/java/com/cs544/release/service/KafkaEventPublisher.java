@@ -0,0 +1,97 @@
+package com.cs544.release.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.event.EventEnvelope;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class KafkaEventPublisher {
+    private static final String SYSTEM_ERRORS_TOPIC = "system.errors";
+    private static final int ERROR_REPORT_QUEUE_SIZE = 100;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<SystemErrorPublisher> systemErrorPublisher;
+    private final ThreadPoolExecutor errorReporter;
+
+    public KafkaEventPublisher(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            ObjectProvider<SystemErrorPublisher> systemErrorPublisher
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.systemErrorPublisher = systemErrorPublisher;
+        // One thread and a bounded queue, so a broker outage cannot pile reports onto a shared pool. Reports
+        // that do not fit are dropped and counted; the failed sends are in kafka_publish_failures_total anyway.
+        this.errorReporter = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ERROR_REPORT_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "system-error-reporter");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> meterRegistry.counter("system_error_reports_dropped_total").increment()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        errorReporter.shutdown();
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, String key, EventEnvelope<?> envelope) {
+        return send(topic, key, envelope.eventType(), envelope).whenComplete((result, ex) -> {
+            if (ex != null && !SYSTEM_ERRORS_TOPIC.equals(topic)) {
+                reportFailure(topic, envelope.eventType(), ex);
+            }
+        });
+    }
+
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, String eventType, Object value) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(topic, key, value);
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+        return future.whenComplete((result, ex) -> record(topic, eventType, startedAt, ex));
+    }
+
+    private void record(String topic, String eventType, long startedAt, Throwable failure) {
+        Timer.builder("kafka_publish_latency_seconds")
+                .description("Time from send until the broker acknowledged or rejected the record")
+                .tag("topic", topic)
+                .tag("event", eventType)
+                .tag("outcome", failure == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            meterRegistry.counter("kafka_publish_failures_total", "topic", topic, "event", eventType).increment();
+        }
+    }
+
+    // Delivery callbacks run on the producer I/O thread, which must not block on another send.
+    private void reportFailure(String topic, String eventType, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        errorReporter.execute(() -> systemErrorPublisher.getObject().publish(
+                "Failed to publish " + eventType + " to " + topic + ": " + cause.getMessage()));
+    }
+}
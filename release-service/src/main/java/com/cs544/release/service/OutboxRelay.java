@@ -0,0 +1,206 @@
+package com.cs544.release.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.model.OutboxEvent;
+import com.cs544.release.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Component
+public class OutboxRelay {
+    private static final String LEASE_NAME = "release-outbox-relay";
+    private static final String TOPIC = "release.events";
+
+    private final OutboxEventRepository outboxRepository;
+    private final KafkaEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final SchedulerLeaseManager leaseManager;
+    private final ReleaseMetrics metrics;
+    private final Duration leaseTtl;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxRepository,
+            KafkaEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            SchedulerLeaseManager leaseManager,
+            ReleaseMetrics metrics,
+            @Value("${release.scheduler.lease-ttl-ms:120000}") long leaseTtlMs,
+            @Value("${release.outbox.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${release.outbox.batch-size:100}") int batchSize,
+            @Value("${release.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${release.outbox.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${release.outbox.max-retry-backoff-ms:60000}") long maxRetryBackoffMs
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.leaseManager = leaseManager;
+        this.metrics = metrics;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.flushInterval = Duration.ofMillis(flushIntervalMs);
+        this.batchSize = Math.max(1, batchSize);
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.maxRetryBackoff = Duration.ofMillis(Math.max(retryBackoffMs, maxRetryBackoffMs));
+    }
+
+    @Scheduled(fixedDelayString = "${release.outbox.flush-interval-ms:200}")
+    public void flush() {
+        leaseManager.runExclusively(LEASE_NAME, leaseTtl, flushInterval, this::drain);
+    }
+
+    // Releases whose oldest pending event failed or is waiting for its retry are excluded from the
+    // following pages, so one release cannot hold back the events of the others.
+    private void drain(SchedulerLeaseManager.Lease lease) {
+        PageRequest oldestFirst = PageRequest.of(0, batchSize, Sort.by("createdAt", "id"));
+        Set<String> blockedReleases = new HashSet<>();
+        long pending = outboxRepository.count();
+        while (pending > 0 && lease.keepAlive()) {
+            List<OutboxEvent> batch = outboxRepository.findByAggregateIdNotIn(blockedReleases, oldestFirst);
+            if (batch.isEmpty()) {
+                break;
+            }
+            metrics.recordOutboxBacklog(pending, Duration.between(batch.get(0).getCreatedAt(), Instant.now()));
+            Delivery delivery = deliver(batch, blockedReleases);
+            pending = Math.max(0, pending - delivery.delivered());
+            // Nothing got through, so Kafka itself is probably unavailable; try again on the next flush.
+            if (delivery.delivered() == 0 && delivery.failed() > 0) {
+                return;
+            }
+        }
+        if (blockedReleases.isEmpty()) {
+            metrics.recordOutboxBacklog(0, Duration.ZERO);
+        }
+    }
+
+    // Events of different releases are sent together so the producer can pipeline them. Within a release
+    // each event is sent only after the previous one was acknowledged, so after a failure nothing later of
+    // that release goes out, and it is redelivered in order on a later flush.
+    private Delivery deliver(List<OutboxEvent> batch, Set<String> blockedReleases) {
+        Instant now = Instant.now();
+        Map<String, CompletableFuture<SendResult<String, Object>>> lastSendByRelease = new HashMap<>();
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            String releaseId = event.getAggregateId();
+            if (blockedReleases.contains(releaseId)) {
+                sends.add(null);
+                continue;
+            }
+            if (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now)) {
+                blockedReleases.add(releaseId);
+                sends.add(null);
+                continue;
+            }
+            CompletableFuture<SendResult<String, Object>> previous = lastSendByRelease.get(releaseId);
+            CompletableFuture<SendResult<String, Object>> send = previous == null
+                    ? send(event)
+                    : previous.thenCompose(result -> send(event));
+            lastSendByRelease.put(releaseId, send);
+            sends.add(send);
+        }
+
+        Set<String> failedReleases = new HashSet<>();
+        List<String> delivered = new ArrayList<>(batch.size());
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            CompletableFuture<SendResult<String, Object>> send = sends.get(i);
+            if (send == null || failedReleases.contains(event.getAggregateId())) {
+                continue;
+            }
+            try {
+                send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                delivered.add(event.getId());
+                metrics.recordOutboxDelivered(event.getEventType(), Duration.between(event.getCreatedAt(), Instant.now()));
+            } catch (ExecutionException | TimeoutException ex) {
+                // Cancelling keeps the chained sends of this release from starting once this one completes.
+                send.cancel(false);
+                failedReleases.add(event.getAggregateId());
+                failed++;
+                recordFailure(event, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        blockedReleases.addAll(failedReleases);
+
+        outboxRepository.deleteAllById(delivered);
+        return new Delivery(delivered.size(), failed);
+    }
+
+    // Only an event that can never be sent is dead-lettered. Broker errors and timeouts keep the release
+    // blocked and are retried for as long as it takes, so its later events are never delivered past it.
+    private void recordFailure(OutboxEvent event, Exception failure) {
+        metrics.recordOutboxDeliveryFailure(event.getEventType());
+        String error = describe(failure);
+        if (!isRetryable(failure)) {
+            outboxRepository.deadLetter(event, error, Instant.now());
+            metrics.recordOutboxDeadLettered(event.getEventType());
+            return;
+        }
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        outboxRepository.recordFailedAttempt(event.getId(), Instant.now().plus(backoff), error);
+    }
+
+    private static boolean isRetryable(Exception failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException
+                    || cause instanceof SerializationException
+                    || cause instanceof RecordTooLargeException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String describe(Exception failure) {
+        if (failure instanceof TimeoutException) {
+            return "No acknowledgement within " + sendTimeoutMs + " ms";
+        }
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            Object envelope = objectMapper.readTree(event.getEnvelope());
+            return eventPublisher.send(TOPIC, event.getAggregateId(), event.getEventType(), envelope);
+        } catch (JsonProcessingException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private record Delivery(int delivered, int failed) {
+    }
+}
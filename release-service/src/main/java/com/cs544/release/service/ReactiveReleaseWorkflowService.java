@@ -0,0 +1,132 @@
+package com.cs544.release.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.repository.KeysetCursor;
+import com.cs544.release.repository.ReactiveReleaseRepository;
+import com.cs544.release.repository.RevisionSummary;
+import com.cs544.release.repository.TaskStorage;
+import com.cs544.release.service.ReleaseWorkflowService.ReleasePage;
+import com.cs544.release.service.ReleaseWorkflowService.TaskPage;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Reads go through the reactive driver, except single-release reads, which share ReleaseWorkflowService's
+// cache; writes keep its transactional outbox. Both run on boundedElastic so no event-loop thread blocks.
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReleaseWorkflowService {
+    private final ReactiveReleaseRepository releaseRepository;
+    private final ReleaseWorkflowService workflowService;
+    private final int exportBatchSize;
+
+    public ReactiveReleaseWorkflowService(
+            ReactiveReleaseRepository releaseRepository,
+            ReleaseWorkflowService workflowService,
+            @Value("${release.export.batch-size:200}") int exportBatchSize,
+            @Value("${release.tasks.storage:embedded}") TaskStorage taskStorage
+    ) {
+        if (taskStorage != TaskStorage.EMBEDDED) {
+            throw new IllegalStateException("The reactive stack only supports release.tasks.storage=embedded.");
+        }
+        this.releaseRepository = releaseRepository;
+        this.workflowService = workflowService;
+        this.exportBatchSize = Math.max(1, exportBatchSize);
+    }
+
+    // Served from the same ReleaseCache as the servlet stack; a miss loads through the blocking repository.
+    public Mono<Release> getRelease(String id) {
+        return blocking(() -> workflowService.getRelease(id));
+    }
+
+    public Flux<Release> listReleases() {
+        return releaseRepository.findAll();
+    }
+
+    public Mono<Long> getReleaseRevision(String id) {
+        return releaseRepository.findRevision(id);
+    }
+
+    public Mono<RevisionSummary> releasesRevision() {
+        return releaseRepository.summarizeRevisions(null);
+    }
+
+    public Mono<RevisionSummary> tasksRevisionForDeveloper(String developerId) {
+        return releaseRepository.summarizeRevisions(developerId);
+    }
+
+    public Mono<ReleasePage> listReleaseSummaries(String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = limit <= 0
+                    ? ReleaseWorkflowService.DEFAULT_PAGE_SIZE
+                    : Math.min(limit, ReleaseWorkflowService.MAX_PAGE_SIZE);
+            return releaseRepository.findReleaseSummaries(KeysetCursor.decode(cursor), pageSize)
+                    .collectList()
+                    .map(items -> {
+                        String nextCursor = null;
+                        if (items.size() == pageSize) {
+                            ReleaseSummary last = items.get(items.size() - 1);
+                            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+                        }
+                        return new ReleasePage(items, nextCursor);
+                    });
+        });
+    }
+
+    public Mono<TaskPage> listTasksForDeveloper(String developerId, TaskStatus status, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = limit <= 0 ? 0 : Math.min(limit, ReleaseWorkflowService.MAX_PAGE_SIZE);
+            return releaseRepository.findTasksForDeveloper(developerId, status, KeysetCursor.decode(cursor), pageSize)
+                    .collectList()
+                    .map(items -> TaskPage.of(items, pageSize));
+        });
+    }
+
+    public Flux<Release> exportReleases(Instant since) {
+        return releaseRepository.findReleasesChangedSince(since, exportBatchSize);
+    }
+
+    public Mono<Release> createRelease(String name, String version) {
+        return blocking(() -> workflowService.createRelease(name, version));
+    }
+
+    public Mono<Release> addTask(String releaseId, Task task) {
+        return blocking(() -> workflowService.addTask(releaseId, task));
+    }
+
+    public Mono<Release> addTasks(String releaseId, List<Task> tasks) {
+        return blocking(() -> workflowService.addTasks(releaseId, tasks));
+    }
+
+    public Mono<Release> startTaskByTaskId(String taskId, String developerId) {
+        return blocking(() -> workflowService.startTaskByTaskId(taskId, developerId));
+    }
+
+    public Mono<Release> completeTaskByTaskId(String taskId, String developerId) {
+        return blocking(() -> workflowService.completeTaskByTaskId(taskId, developerId));
+    }
+
+    public Mono<Release> completeRelease(String releaseId) {
+        return blocking(() -> workflowService.completeRelease(releaseId));
+    }
+
+    public Mono<Long> recountTasks(String releaseId) {
+        return blocking(() -> workflowService.recountTasks(releaseId));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,94 @@
+package com.cs544.release.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.repository.ReleaseRepository;
+
+// Moves releases completed more than release.archive.after-days ago into releases_archive, so list,
+// scan and RAG queries only see active releases. Reads by id still find archived releases.
+@Component
+public class ReleaseArchiver {
+    private static final String LEASE_NAME = "release-archival";
+
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseMetrics metrics;
+    private final ReleaseCache releaseCache;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionOperations transactions;
+    private final Duration leaseTtl;
+    private final Duration interval;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public ReleaseArchiver(
+            ReleaseRepository releaseRepository,
+            ReleaseMetrics metrics,
+            ReleaseCache releaseCache,
+            SchedulerLeaseManager leaseManager,
+            TransactionOperations transactions,
+            @Value("${release.scheduler.lease-ttl-ms:120000}") long leaseTtlMs,
+            @Value("${release.archive.interval-ms:3600000}") long intervalMs,
+            @Value("${release.archive.enabled:true}") boolean enabled,
+            @Value("${release.archive.after-days:90}") long afterDays,
+            @Value("${release.archive.batch-size:100}") int batchSize
+    ) {
+        this.releaseRepository = releaseRepository;
+        this.metrics = metrics;
+        this.releaseCache = releaseCache;
+        this.leaseManager = leaseManager;
+        this.transactions = transactions;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.interval = Duration.ofMillis(intervalMs);
+        this.enabled = enabled;
+        this.archiveAfter = Duration.ofDays(afterDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Every replica refreshes the working-set gauges; only the lease holder moves releases.
+    @Scheduled(fixedDelayString = "${release.archive.interval-ms:3600000}")
+    public void archiveCompletedReleases() {
+        if (enabled) {
+            leaseManager.runExclusively(LEASE_NAME, leaseTtl, interval, this::archive);
+        }
+        metrics.recordTierSize("active", releaseRepository.measureActiveTier());
+        metrics.recordTierSize("archive", releaseRepository.measureArchiveTier());
+    }
+
+    private void archive(SchedulerLeaseManager.Lease lease) {
+        Instant cutoff = Instant.now().minus(archiveAfter);
+        while (lease.keepAlive()) {
+            List<String> releaseIds = releaseRepository.findArchivableIds(cutoff, batchSize);
+            int archived = 0;
+            for (String releaseId : releaseIds) {
+                if (!lease.keepAlive()) {
+                    return;
+                }
+                // The epoch moves on both sides of the commit, so a list ETag read while the release
+                // leaves the active set is never reused for a later state.
+                releaseRepository.advanceArchiveEpoch();
+                Optional<Release> moved = transactions.execute(
+                        status -> releaseRepository.archive(releaseId, cutoff, Instant.now()));
+                releaseRepository.advanceArchiveEpoch();
+                if (moved != null && moved.isPresent()) {
+                    releaseCache.invalidate(releaseId);
+                    metrics.recordReleaseArchived();
+                    archived++;
+                }
+            }
+            // Releases that changed while being archived are left for the next run.
+            if (releaseIds.size() < batchSize || archived == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cs544.release.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.model.Release;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class ReleaseCache {
+    private final Cache<String, CachedRelease> releases;
+    private final ReleaseMetrics metrics;
+
+    public ReleaseCache(
+            ReleaseMetrics metrics,
+            MeterRegistry meterRegistry,
+            @Value("${release.cache.enabled:true}") boolean enabled,
+            @Value("${release.cache.ttl-ms:5000}") long ttlMs,
+            @Value("${release.cache.max-size:10000}") long maximumSize
+    ) {
+        this.metrics = metrics;
+        if (!enabled) {
+            this.releases = null;
+            return;
+        }
+        this.releases = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maximumSize))
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, releases, "releases");
+    }
+
+    // Loads through the cache; a concurrent invalidate waits for an in-flight load, so it cannot be overwritten by it.
+    public Release get(String releaseId, Function<String, Release> loader) {
+        if (releases == null) {
+            return loader.apply(releaseId);
+        }
+        CachedRelease cached = releases.get(releaseId, id -> new CachedRelease(loader.apply(id), Instant.now()));
+        metrics.recordReleaseCacheEntryAge(Duration.between(cached.loadedAt(), Instant.now()));
+        return cached.release();
+    }
+
+    public void invalidate(String releaseId) {
+        if (releases != null) {
+            releases.invalidate(releaseId);
+            metrics.recordReleaseCacheInvalidation("local");
+        }
+    }
+
+    public void invalidateAll() {
+        if (releases != null) {
+            releases.invalidateAll();
+            metrics.recordReleaseCacheInvalidation("local");
+        }
+    }
+
+    public void invalidateFromEvent(String releaseId, Instant writtenAt) {
+        if (releases != null) {
+            releases.invalidate(releaseId);
+            metrics.recordReleaseCacheInvalidation("event");
+            metrics.recordReleaseCacheInvalidationLag(Duration.between(writtenAt, Instant.now()));
+        }
+    }
+
+    private record CachedRelease(Release release, Instant loadedAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.cs544.release.service;
+
+import java.time.Instant;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReleaseCacheInvalidator {
+    private final ReleaseCache releaseCache;
+
+    public ReleaseCacheInvalidator(ReleaseCache releaseCache) {
+        this.releaseCache = releaseCache;
+    }
+
+    // Every replica joins its own group so each one sees all release writes; events are keyed by release id.
+    @KafkaListener(
+            topics = "release.events",
+            groupId = "release-cache-#{T(java.util.UUID).randomUUID()}",
+            containerFactory = "cacheInvalidationListenerFactory",
+            autoStartup = "${release.cache.enabled:true}"
+    )
+    public void onReleaseEvent(ConsumerRecord<String, byte[]> record) {
+        if (record.key() != null) {
+            releaseCache.invalidateFromEvent(record.key(), Instant.ofEpochMilli(record.timestamp()));
+        }
+    }
+}
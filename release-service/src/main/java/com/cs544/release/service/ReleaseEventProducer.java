@@ -1,10 +1,11 @@
 package com.cs544.release.service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.cs544.release.event.EventEnvelope;
@@ -13,17 +14,21 @@ import com.cs544.release.event.StaleTaskDetectedEvent;
 import com.cs544.release.event.TaskAssignedEvent;
 import com.cs544.release.event.TaskCompletedEvent;
 import com.cs544.release.event.TaskStartedEvent;
+import com.cs544.release.model.OutboxEvent;
 import com.cs544.release.model.Release;
 import com.cs544.release.model.Task;
+import com.cs544.release.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class ReleaseEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ReleaseMetrics metrics;
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    public ReleaseEventProducer(KafkaTemplate<String, Object> kafkaTemplate, ReleaseMetrics metrics) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.metrics = metrics;
+    public ReleaseEventProducer(OutboxEventRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     public void publishReleaseCreated(Release release) {
@@ -35,102 +40,128 @@ public class ReleaseEventProducer {
                 Map.of("schema", "v1"),
                 release
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
+        enqueue(release.getId(), envelope);
     }
 
     public void publishHotfixTaskAdded(Release release, Task task) {
-        HotfixTaskAddedEvent payload = new HotfixTaskAddedEvent(
+        enqueue(release.getId(), hotfixTaskAdded(release, task));
+    }
+
+    public void publishTaskAssigned(Release release, Task task) {
+        enqueue(release.getId(), taskAssigned(release, task));
+    }
+
+    public void publishTasksAssigned(Release release, List<Task> tasks, boolean hotfix) {
+        List<OutboxEvent> events = new ArrayList<>(hotfix ? tasks.size() * 2 : tasks.size());
+        for (Task task : tasks) {
+            events.add(toOutboxEvent(release.getId(), taskAssigned(release, task)));
+            if (hotfix) {
+                events.add(toOutboxEvent(release.getId(), hotfixTaskAdded(release, task)));
+            }
+        }
+        outboxRepository.insert(events);
+    }
+
+    public void publishTaskStarted(Release release, Task task) {
+        TaskStartedEvent payload = new TaskStartedEvent(
                 task.getAssigneeId(),
                 release.getId(),
+                task.getId(),
                 task.getTitle()
         );
-        EventEnvelope<HotfixTaskAddedEvent> envelope = new EventEnvelope<>(
-                "HotfixTaskAdded",
+        EventEnvelope<TaskStartedEvent> envelope = new EventEnvelope<>(
+                "TaskStarted",
                 "release-service",
                 UUID.randomUUID().toString(),
                 Instant.now(),
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
+        enqueue(release.getId(), envelope);
     }
 
-    public void publishTaskAssigned(Release release, Task task) {
-        TaskAssignedEvent payload = new TaskAssignedEvent(
+    public void publishTaskCompleted(Release release, Task task) {
+        TaskCompletedEvent payload = new TaskCompletedEvent(
                 task.getAssigneeId(),
                 release.getId(),
                 task.getId(),
                 task.getTitle()
         );
-        EventEnvelope<TaskAssignedEvent> envelope = new EventEnvelope<>(
-                "TaskAssigned",
+        EventEnvelope<TaskCompletedEvent> envelope = new EventEnvelope<>(
+                "TaskCompleted",
                 "release-service",
                 UUID.randomUUID().toString(),
                 Instant.now(),
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
+        enqueue(release.getId(), envelope);
     }
 
-    public void publishTaskStarted(Release release, Task task) {
-        TaskStartedEvent payload = new TaskStartedEvent(
+    public void publishStaleTaskDetected(String releaseId, Task task) {
+        StaleTaskDetectedEvent payload = new StaleTaskDetectedEvent(
                 task.getAssigneeId(),
-                release.getId(),
+                releaseId,
                 task.getId(),
-                task.getTitle()
+                task.getTitle(),
+                task.getUpdatedAt()
         );
-        EventEnvelope<TaskStartedEvent> envelope = new EventEnvelope<>(
-                "TaskStarted",
+        EventEnvelope<StaleTaskDetectedEvent> envelope = new EventEnvelope<>(
+                "StaleTaskDetected",
                 "release-service",
                 UUID.randomUUID().toString(),
                 Instant.now(),
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
+        enqueue(releaseId, envelope);
     }
 
-    public void publishTaskCompleted(Release release, Task task) {
-        TaskCompletedEvent payload = new TaskCompletedEvent(
+    private EventEnvelope<HotfixTaskAddedEvent> hotfixTaskAdded(Release release, Task task) {
+        HotfixTaskAddedEvent payload = new HotfixTaskAddedEvent(
                 task.getAssigneeId(),
                 release.getId(),
-                task.getId(),
                 task.getTitle()
         );
-        EventEnvelope<TaskCompletedEvent> envelope = new EventEnvelope<>(
-                "TaskCompleted",
+        return new EventEnvelope<>(
+                "HotfixTaskAdded",
                 "release-service",
                 UUID.randomUUID().toString(),
                 Instant.now(),
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
     }
 
-    public void publishStaleTaskDetected(Release release, Task task) {
-        StaleTaskDetectedEvent payload = new StaleTaskDetectedEvent(
+    private EventEnvelope<TaskAssignedEvent> taskAssigned(Release release, Task task) {
+        TaskAssignedEvent payload = new TaskAssignedEvent(
                 task.getAssigneeId(),
                 release.getId(),
                 task.getId(),
-                task.getTitle(),
-                task.getUpdatedAt()
+                task.getTitle()
         );
-        EventEnvelope<StaleTaskDetectedEvent> envelope = new EventEnvelope<>(
-                "StaleTaskDetected",
+        return new EventEnvelope<>(
+                "TaskAssigned",
                 "release-service",
                 UUID.randomUUID().toString(),
                 Instant.now(),
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("release.events", envelope.eventType(), envelope);
-        metrics.incrementKafkaEvent(envelope.eventType());
+    }
+
+    // Written to the outbox in the caller's transaction; OutboxRelay delivers it to Kafka.
+    private void enqueue(String releaseId, EventEnvelope<?> envelope) {
+        outboxRepository.insert(toOutboxEvent(releaseId, envelope));
+    }
+
+    private OutboxEvent toOutboxEvent(String releaseId, EventEnvelope<?> envelope) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize " + envelope.eventType() + " event.", ex);
+        }
+        return new OutboxEvent(envelope.id(), releaseId, envelope.eventType(), json, envelope.timestamp());
     }
 }
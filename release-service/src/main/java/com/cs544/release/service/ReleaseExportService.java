@@ -0,0 +1,49 @@
+package com.cs544.release.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.repository.ReleaseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class ReleaseExportService {
+    private static final byte NEWLINE = '\n';
+
+    private final ReleaseRepository releaseRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ReleaseExportService(
+            ReleaseRepository releaseRepository,
+            ObjectMapper objectMapper,
+            @Value("${release.export.batch-size:200}") int batchSize
+    ) {
+        this.releaseRepository = releaseRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public long exportNdjson(Instant since, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<Release> releases = releaseRepository.streamReleasesChangedSince(since, batchSize)) {
+            var iterator = releases.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write(NEWLINE);
+                written++;
+                if (written % batchSize == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+}
@@ -1,47 +1,165 @@
 package com.cs544.release.service;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.springframework.stereotype.Component;
 
 import com.cs544.release.model.TaskStatus;
-import com.cs544.release.repository.ReleaseRepository;
+import com.cs544.release.repository.TierSize;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class ReleaseMetrics {
     private final MeterRegistry meterRegistry;
-    private final ReleaseRepository releaseRepository;
     private final Counter tasksCompletedCounter;
+    private final AtomicLong activeDevelopers = new AtomicLong();
+    private final Map<TaskStatus, AtomicLong> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    private final AtomicLong outboxPending = new AtomicLong();
+    private final AtomicLong outboxLagMillis = new AtomicLong();
+    private final Map<String, AtomicLong> workingSet = new ConcurrentHashMap<>();
 
-    public ReleaseMetrics(MeterRegistry meterRegistry, ReleaseRepository releaseRepository) {
+    public ReleaseMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
-        this.releaseRepository = releaseRepository;
         this.tasksCompletedCounter = Counter.builder("tasks_completed_total")
                 .description("Total tasks completed")
                 .register(meterRegistry);
 
-        Gauge.builder("active_developers_count", this, ReleaseMetrics::countActiveDevelopers)
+        Gauge.builder("active_developers_count", activeDevelopers, AtomicLong::get)
                 .description("Number of developers with an active task")
                 .register(meterRegistry);
+
+        for (TaskStatus status : TaskStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            tasksByStatus.put(status, count);
+            Gauge.builder("tasks_by_status", count, AtomicLong::get)
+                    .description("Number of tasks currently in each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("release_outbox_pending_events", outboxPending, AtomicLong::get)
+                .description("Events waiting in the outbox for delivery to Kafka")
+                .register(meterRegistry);
+        Gauge.builder("release_outbox_lag_seconds", outboxLagMillis, millis -> millis.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
     }
 
     public void incrementKafkaEvent(String eventType) {
         meterRegistry.counter("kafka_events_published_total", "event", eventType).increment();
     }
 
+    public void recordOutboxBacklog(long pending, Duration oldestAge) {
+        outboxPending.set(pending);
+        outboxLagMillis.set(Math.max(0, oldestAge.toMillis()));
+    }
+
+    public void recordOutboxDelivered(String eventType, Duration delay) {
+        incrementKafkaEvent(eventType);
+        Timer.builder("release_outbox_delivery_delay_seconds")
+                .description("Time from writing an event to the outbox until Kafka acknowledged it")
+                .tag("event", eventType)
+                .register(meterRegistry)
+                .record(delay);
+    }
+
+    public void recordOutboxDeliveryFailure(String eventType) {
+        meterRegistry.counter("release_outbox_delivery_failures_total", "event", eventType).increment();
+    }
+
+    public void recordOutboxDeadLettered(String eventType) {
+        meterRegistry.counter("release_outbox_dead_lettered_total", "event", eventType).increment();
+    }
+
     public void recordTaskCompleted() {
         tasksCompletedCounter.increment();
     }
 
-    private double countActiveDevelopers() {
-        return releaseRepository.findAll().stream()
-                .filter(release -> release.getTasks() != null)
-                .flatMap(release -> release.getTasks().stream())
-                .filter(task -> task.getStatus() == TaskStatus.IN_PROCESS)
-                .map(task -> task.getAssigneeId())
-                .distinct()
-                .count();
+    public void recordWriteConflict(String operation) {
+        meterRegistry.counter("release_write_conflicts_total", "operation", operation).increment();
+    }
+
+    public void recordWriteRetry(String operation) {
+        meterRegistry.counter("release_write_retries_total", "operation", operation).increment();
+    }
+
+    public void recordTaskRoutingLookup(boolean hit) {
+        meterRegistry.counter("task_routing_cache_requests_total", "result", hit ? "hit" : "miss").increment();
+    }
+
+    public void recordReleaseCacheEntryAge(Duration age) {
+        Timer.builder("release_cache_entry_age_seconds")
+                .description("Age of release snapshots served from the cache")
+                .register(meterRegistry)
+                .record(age);
+    }
+
+    public void recordReleaseCacheInvalidation(String source) {
+        meterRegistry.counter("release_cache_invalidations_total", "source", source).increment();
+    }
+
+    public void recordReleaseCacheInvalidationLag(Duration lag) {
+        Timer.builder("release_cache_invalidation_lag_seconds")
+                .description("Time from a release event being produced until this replica evicted the release")
+                .register(meterRegistry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void recordLeaseAcquired(String lease) {
+        meterRegistry.counter("scheduler_lease_acquired_total", "lease", lease).increment();
+    }
+
+    public void recordLeaseLost(String lease) {
+        meterRegistry.counter("scheduler_lease_lost_total", "lease", lease).increment();
+    }
+
+    public void recordLeaseHeld(String lease, Duration heldFor) {
+        Timer.builder("scheduler_lease_hold_seconds")
+                .description("Time a scheduler lease was held by this replica")
+                .tag("lease", lease)
+                .register(meterRegistry)
+                .record(heldFor);
+    }
+
+    public void recordReleaseArchived() {
+        meterRegistry.counter("releases_archived_total").increment();
+    }
+
+    public void recordReleaseRestored() {
+        meterRegistry.counter("releases_restored_total").increment();
+    }
+
+    public void recordTierSize(String tier, TierSize size) {
+        tierGauge("release_working_set_releases", "Releases stored in each tier", tier).set(size.releases());
+        tierGauge("release_working_set_tasks", "Tasks stored in each tier", tier).set(size.tasks());
+        tierGauge("release_working_set_data_bytes", "Uncompressed document bytes of each tier", tier).set(size.dataBytes());
+        tierGauge("release_working_set_index_bytes", "Index bytes of each tier", tier).set(size.indexBytes());
+    }
+
+    private AtomicLong tierGauge(String name, String description, String tier) {
+        return workingSet.computeIfAbsent(name + ":" + tier, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(name, value, AtomicLong::get)
+                    .description(description)
+                    .tag("tier", tier)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    // Set from the shared collections by WorkloadGauges, so every replica reports the same cluster-wide values.
+    public void recordWorkload(long developersWithActiveTask, Map<TaskStatus, Long> taskCounts) {
+        activeDevelopers.set(developersWithActiveTask);
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.get(status).set(taskCounts.getOrDefault(status, 0L));
+        }
     }
 }
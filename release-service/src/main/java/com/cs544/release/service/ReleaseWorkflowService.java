@@ -1,38 +1,75 @@
 package com.cs544.release.service;
 
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
 import com.cs544.release.model.Task;
 import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+import com.cs544.release.repository.KeysetCursor;
 import com.cs544.release.repository.ReleaseRepository;
+import com.cs544.release.repository.RevisionSummary;
 
 @Service
 public class ReleaseWorkflowService {
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_TASK_BATCH_SIZE = 500;
+    static final int DEFAULT_PAGE_SIZE = 50;
+
     private final ReleaseRepository releaseRepository;
     private final ReleaseEventProducer eventProducer;
     private final ReleaseMetrics metrics;
+    private final ActiveTaskIndex activeTaskIndex;
+    private final TaskRoutingCache taskRouting;
+    private final ReleaseCache releaseCache;
+    private final TransactionOperations transactions;
+    private final int maxRetries;
+    private final long retryBackoffMs;
 
     public ReleaseWorkflowService(
             ReleaseRepository releaseRepository,
             ReleaseEventProducer eventProducer,
-            ReleaseMetrics metrics
+            ReleaseMetrics metrics,
+            ActiveTaskIndex activeTaskIndex,
+            TaskRoutingCache taskRouting,
+            ReleaseCache releaseCache,
+            TransactionOperations transactions,
+            @Value("${release.concurrency.max-retries:3}") int maxRetries,
+            @Value("${release.concurrency.retry-backoff-ms:25}") long retryBackoffMs
     ) {
         this.releaseRepository = releaseRepository;
         this.eventProducer = eventProducer;
         this.metrics = metrics;
+        this.activeTaskIndex = activeTaskIndex;
+        this.taskRouting = taskRouting;
+        this.releaseCache = releaseCache;
+        this.transactions = transactions;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
     }
 
     public Release getRelease(String id) {
+        return releaseCache.get(id, this::loadRelease);
+    }
+
+    private Release loadRelease(String id) {
         Release release = releaseRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Release not found."));
         if (release.getTasks() == null) {
-            release.setTasks(new java.util.ArrayList<>());
+            release.setTasks(new ArrayList<>());
         }
         return release;
     }
@@ -41,44 +78,242 @@ public class ReleaseWorkflowService {
         return releaseRepository.findAll();
     }
 
+    public Long getReleaseRevision(String id) {
+        return releaseRepository.findRevision(id);
+    }
+
+    public RevisionSummary releasesRevision() {
+        return releaseRepository.summarizeRevisions(null);
+    }
+
+    public RevisionSummary tasksRevisionForDeveloper(String developerId) {
+        return releaseRepository.summarizeRevisions(developerId);
+    }
+
+    public ReleasePage listReleaseSummaries(String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        List<ReleaseSummary> items = releaseRepository.findReleaseSummaries(KeysetCursor.decode(cursor), pageSize);
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            ReleaseSummary last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        return new ReleasePage(items, nextCursor);
+    }
+
+    public record ReleasePage(List<ReleaseSummary> items, String nextCursor) {
+    }
+
     public Release createRelease(String name, String version) {
         Release release = new Release(name, version);
         release.setCompleted(false);
         release.setCompletedAt(null);
         release.setLastCompletedAt(null);
-        Release saved = releaseRepository.save(release);
-        eventProducer.publishReleaseCreated(saved);
-        return saved;
+        return transactions.execute(status -> {
+            Release saved = releaseRepository.save(release);
+            eventProducer.publishReleaseCreated(saved);
+            return saved;
+        });
     }
 
     public Release addTask(String releaseId, Task task) {
-        Release release = getRelease(releaseId);
-
         if (task.getOrderIndex() <= 0) {
             throw new IllegalArgumentException("orderIndex must be a positive integer.");
         }
+        return withConflictRetry("addTask", () -> doAddTask(releaseId, task));
+    }
 
-        boolean duplicateIndex = release.getTasks().stream()
-                .anyMatch(existing -> existing.getOrderIndex() == task.getOrderIndex());
-        if (duplicateIndex) {
-            throw new IllegalArgumentException("orderIndex is already used by another task.");
+    public Release addTasks(String releaseId, List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required.");
+        }
+        if (tasks.size() > MAX_TASK_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_TASK_BATCH_SIZE + " tasks can be added at once.");
+        }
+        Set<Integer> orderIndexes = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getOrderIndex() <= 0) {
+                throw new IllegalArgumentException("orderIndex must be a positive integer.");
+            }
+            if (!orderIndexes.add(task.getOrderIndex())) {
+                throw new IllegalArgumentException("orderIndex " + task.getOrderIndex() + " appears more than once.");
+            }
         }
+        return withConflictRetry("addTasks", () -> doAddTasks(releaseId, tasks));
+    }
 
-        release.getTasks().add(task);
-        release.getTasks().sort(Comparator.comparingInt(Task::getOrderIndex));
-        eventProducer.publishTaskAssigned(release, task);
+    public Release startTask(String releaseId, String taskId, String developerId) {
+        return startTask(reloading(releaseId, taskId, null), taskId, developerId);
+    }
 
-        if (release.isCompleted()) {
+    public Release completeTask(String releaseId, String taskId, String developerId) {
+        return completeTask(reloading(releaseId, taskId, null), taskId, developerId);
+    }
+
+    public Release startTaskByTaskId(String taskId, String developerId) {
+        return startTask(locateTask(taskId), taskId, developerId);
+    }
+
+    public Release completeTaskByTaskId(String taskId, String developerId) {
+        return completeTask(locateTask(taskId), taskId, developerId);
+    }
+
+    private Release startTask(Supplier<Release> releases, String taskId, String developerId) {
+        return withConflictRetry("startTask", () -> doStartTask(releases.get(), taskId, developerId));
+    }
+
+    private Release completeTask(Supplier<Release> releases, String taskId, String developerId) {
+        return withConflictRetry("completeTask", () -> doCompleteTask(releases.get(), taskId, developerId));
+    }
+
+    private Supplier<Release> locateTask(String taskId) {
+        String releaseId = taskRouting.releaseIdFor(taskId);
+        if (releaseId != null) {
+            return reloading(releaseId, taskId, null);
+        }
+        Release release = releaseRepository.findByTaskId(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found."));
+        if (release.getTasks() == null) {
+            release.setTasks(new ArrayList<>());
+        }
+        taskRouting.remember(taskId, release.getId());
+        return reloading(release.getId(), taskId, release);
+    }
+
+    // Hands out an already-loaded release for the first attempt; conflict retries re-read it.
+    private Supplier<Release> reloading(String releaseId, String taskId, Release loaded) {
+        AtomicReference<Release> pending = new AtomicReference<>(loaded);
+        return () -> {
+            Release release = pending.getAndSet(null);
+            return release != null ? release : loadForTaskTransition(releaseId, taskId);
+        };
+    }
+
+    private Release loadForTaskTransition(String releaseId, String taskId) {
+        Release release = releaseRepository.findForTaskTransition(releaseId, taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Release not found."));
+        if (release.getTasks() == null) {
+            release.setTasks(new ArrayList<>());
+        }
+        return release;
+    }
+
+    private Release loadForTaskAppend(String releaseId) {
+        Release release = releaseRepository.findForTaskAppend(releaseId)
+                .orElseThrow(() -> new IllegalArgumentException("Release not found."));
+        if (release.getTasks() == null) {
+            release.setTasks(new ArrayList<>());
+        }
+        return release;
+    }
+
+    public List<TaskWithRelease> listTasksForDeveloper(String developerId) {
+        return listTasksForDeveloper(developerId, null, null, 0).items();
+    }
+
+    public TaskPage listTasksForDeveloper(String developerId, TaskStatus status, String cursor, int limit) {
+        int pageSize = limit <= 0 ? 0 : Math.min(limit, MAX_PAGE_SIZE);
+        List<TaskWithRelease> items = releaseRepository.findTasksForDeveloper(
+                developerId, status, KeysetCursor.decode(cursor), pageSize);
+        return TaskPage.of(items, pageSize);
+    }
+
+    // Without a limit every matching task is returned and there is no next page.
+    public record TaskPage(List<TaskWithRelease> items, String nextCursor) {
+        static TaskPage of(List<TaskWithRelease> items, int pageSize) {
+            String nextCursor = null;
+            if (pageSize > 0 && items.size() == pageSize) {
+                Task last = items.get(items.size() - 1).task();
+                nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+            }
+            return new TaskPage(items, nextCursor);
+        }
+    }
+
+    public Release completeRelease(String releaseId) {
+        return withConflictRetry("completeRelease", () -> doCompleteRelease(releaseId));
+    }
+
+    public long recountTasks(String releaseId) {
+        long repaired = releaseRepository.recountTasks(releaseId);
+        if (releaseId == null) {
+            releaseCache.invalidateAll();
+        } else {
+            releaseCache.invalidate(releaseId);
+        }
+        return repaired;
+    }
+
+    private Release doAddTask(String releaseId, Task task) {
+        Release release = loadForTaskAppend(releaseId);
+        ensureOrderIndexAvailable(release, task.getOrderIndex());
+
+        boolean reopen = release.isCompleted();
+        boolean appended = inTransaction(() -> {
+            restoreIfArchived(release);
+            if (!releaseRepository.appendTask(releaseId, task, reopen)) {
+                return false;
+            }
+            eventProducer.publishTaskAssigned(release, task);
+            if (reopen) {
+                eventProducer.publishHotfixTaskAdded(release, task);
+            }
+            return true;
+        });
+        if (!appended) {
+            throw new OptimisticLockingFailureException("Release " + releaseId + " was modified concurrently.");
+        }
+
+        releaseCache.invalidate(releaseId);
+        restoredFromArchive(release);
+        taskRouting.remember(task.getId(), releaseId);
+        release.addTasks(List.of(task));
+        incrementRevision(release);
+        if (reopen) {
             release.setCompleted(false);
             release.setCompletedAt(null);
-            eventProducer.publishHotfixTaskAdded(release, task);
         }
 
-        return releaseRepository.save(release);
+        return release;
     }
 
-    public Release startTask(String releaseId, String taskId, String developerId) {
-        Release release = getRelease(releaseId);
+    private Release doAddTasks(String releaseId, List<Task> tasks) {
+        Release release = loadForTaskAppend(releaseId);
+        for (Task task : tasks) {
+            if (release.findTaskByOrderIndex(task.getOrderIndex()) != null) {
+                throw new IllegalArgumentException("orderIndex " + task.getOrderIndex() + " is already used by another task.");
+            }
+        }
+
+        boolean reopen = release.isCompleted();
+        boolean appended = inTransaction(() -> {
+            restoreIfArchived(release);
+            if (!releaseRepository.appendTasks(releaseId, tasks, reopen)) {
+                return false;
+            }
+            eventProducer.publishTasksAssigned(release, tasks, reopen);
+            return true;
+        });
+        if (!appended) {
+            throw new OptimisticLockingFailureException("Release " + releaseId + " was modified concurrently.");
+        }
+
+        releaseCache.invalidate(releaseId);
+        restoredFromArchive(release);
+        for (Task task : tasks) {
+            taskRouting.remember(task.getId(), releaseId);
+        }
+        release.addTasks(tasks);
+        incrementRevision(release);
+        if (reopen) {
+            release.setCompleted(false);
+            release.setCompletedAt(null);
+        }
+        return release;
+    }
+
+    private Release doStartTask(Release release, String taskId, String developerId) {
+        String releaseId = release.getId();
         Task task = findTask(release, taskId);
 
         if (!task.getAssigneeId().equals(developerId)) {
@@ -90,15 +325,36 @@ public class ReleaseWorkflowService {
         }
 
         ensurePreviousTaskCompleted(release, task);
-        ensureDeveloperHasNoActiveTask(developerId);
+        if (!activeTaskIndex.claim(developerId, releaseId, taskId)) {
+            throw new IllegalArgumentException("Developer already has a task in progress.");
+        }
 
-        task.setStatus(TaskStatus.IN_PROCESS);
-        eventProducer.publishTaskStarted(release, task);
-        return releaseRepository.save(release);
+        Instant now = Instant.now();
+        try {
+            boolean updated = inTransaction(() -> {
+                if (!releaseRepository.transitionTask(
+                        releaseId, taskId, developerId, TaskStatus.TODO, TaskStatus.IN_PROCESS, now)) {
+                    return false;
+                }
+                eventProducer.publishTaskStarted(release, task);
+                return true;
+            });
+            if (!updated) {
+                throw new OptimisticLockingFailureException("Task " + taskId + " was modified concurrently.");
+            }
+        } catch (RuntimeException ex) {
+            activeTaskIndex.release(developerId, taskId);
+            throw ex;
+        }
+
+        releaseCache.invalidate(releaseId);
+        release.updateTaskStatus(task, TaskStatus.IN_PROCESS, now);
+        incrementRevision(release);
+        return release;
     }
 
-    public Release completeTask(String releaseId, String taskId, String developerId) {
-        Release release = getRelease(releaseId);
+    private Release doCompleteTask(Release release, String taskId, String developerId) {
+        String releaseId = release.getId();
         Task task = findTask(release, taskId);
 
         if (!task.getAssigneeId().equals(developerId)) {
@@ -109,61 +365,122 @@ public class ReleaseWorkflowService {
             throw new IllegalArgumentException("Task must be IN_PROCESS before it can be completed.");
         }
 
-        task.setStatus(TaskStatus.COMPLETED);
-        eventProducer.publishTaskCompleted(release, task);
+        Instant now = Instant.now();
+        boolean updated = inTransaction(() -> {
+            if (!releaseRepository.transitionTask(
+                    releaseId, taskId, developerId, TaskStatus.IN_PROCESS, TaskStatus.COMPLETED, now)) {
+                return false;
+            }
+            eventProducer.publishTaskCompleted(release, task);
+            return true;
+        });
+        if (!updated) {
+            throw new OptimisticLockingFailureException("Task " + taskId + " was modified concurrently.");
+        }
+
+        releaseCache.invalidate(releaseId);
+        activeTaskIndex.release(developerId, taskId);
+        release.updateTaskStatus(task, TaskStatus.COMPLETED, now);
+        incrementRevision(release);
         metrics.recordTaskCompleted();
-        return releaseRepository.save(release);
+        return release;
     }
 
-    public Release startTaskByTaskId(String taskId, String developerId) {
-        Release release = releaseRepository.findByTaskId(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found."));
-        return startTask(release.getId(), taskId, developerId);
+    // Decided from the stored status counters; the task array is neither read nor rewritten.
+    private Release doCompleteRelease(String releaseId) {
+        Release release = releaseRepository.findProgress(releaseId)
+                .orElseThrow(() -> new IllegalArgumentException("Release not found."));
+
+        if (release.isCompleted()) {
+            throw new IllegalArgumentException("Release is already completed.");
+        }
+
+        if (release.hasOpenTasks()) {
+            throw new IllegalArgumentException("All tasks must be completed before finishing the release.");
+        }
+
+        Instant now = Instant.now();
+        if (!releaseRepository.markCompleted(releaseId, release.getRevision(), now)) {
+            throw new OptimisticLockingFailureException("Release " + releaseId + " was modified concurrently.");
+        }
+        releaseCache.invalidate(releaseId);
+        release.setCompleted(true);
+        release.setCompletedAt(now);
+        release.setLastCompletedAt(now);
+        if (release.getLastActivityAt() == null || now.isAfter(release.getLastActivityAt())) {
+            release.setLastActivityAt(now);
+        }
+        incrementRevision(release);
+        return release;
     }
 
-    public Release completeTaskByTaskId(String taskId, String developerId) {
-        Release release = releaseRepository.findByTaskId(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found."));
-        return completeTask(release.getId(), taskId, developerId);
+    // A hotfix task on an archived release brings the release back into the active collection first.
+    private void restoreIfArchived(Release release) {
+        if (release.getArchivedAt() != null && !releaseRepository.restore(release.getId())) {
+            throw new OptimisticLockingFailureException("Release " + release.getId() + " was restored concurrently.");
+        }
     }
 
-    public List<TaskWithRelease> listTasksForDeveloper(String developerId) {
-        return releaseRepository.findByAssignee(developerId).stream()
-                .filter(release -> release.getTasks() != null)
-                .flatMap(release -> release.getTasks().stream()
-                        .filter(task -> developerId.equals(task.getAssigneeId()))
-                        .map(task -> new TaskWithRelease(release.getId(), task)))
-                .toList();
+    private void restoredFromArchive(Release release) {
+        if (release.getArchivedAt() != null) {
+            release.setArchivedAt(null);
+            metrics.recordReleaseRestored();
+        }
     }
 
-    public record TaskWithRelease(String releaseId, Task task) {
+    private <T> T withConflictRetry(String operation, Supplier<T> action) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException ex) {
+                metrics.recordWriteConflict(operation);
+                if (attempt >= maxRetries) {
+                    throw ex;
+                }
+                attempt++;
+                metrics.recordWriteRetry(operation);
+                backoff(attempt);
+            }
+        }
     }
 
-    public Release completeRelease(String releaseId) {
-        Release release = getRelease(releaseId);
+    // Release changes and their outbox events commit or roll back together.
+    private boolean inTransaction(Supplier<Boolean> action) {
+        return Boolean.TRUE.equals(transactions.execute(status -> action.get()));
+    }
 
-        if (release.isCompleted()) {
-            throw new IllegalArgumentException("Release is already completed.");
+    private void backoff(int attempt) {
+        if (retryBackoffMs <= 0) {
+            return;
         }
-
-        boolean allCompleted = release.getTasks().stream()
-                .allMatch(task -> task.getStatus() == TaskStatus.COMPLETED);
-        if (!allCompleted) {
-            throw new IllegalArgumentException("All tasks must be completed before finishing the release.");
+        long delay = retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException("Interrupted while retrying a conflicting write.", ex);
         }
+    }
 
-        release.setCompleted(true);
-        Instant now = Instant.now();
-        release.setCompletedAt(now);
-        release.setLastCompletedAt(now);
-        return releaseRepository.save(release);
+    private void incrementRevision(Release release) {
+        if (release.getRevision() != null) {
+            release.setRevision(release.getRevision() + 1);
+        }
     }
 
     private Task findTask(Release release, String taskId) {
-        return release.getTasks().stream()
-                .filter(task -> task.getId().equals(taskId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Task not found."));
+        Task task = release.findTask(taskId);
+        if (task == null) {
+            throw new IllegalArgumentException("Task not found.");
+        }
+        return task;
+    }
+
+    private void ensureOrderIndexAvailable(Release release, int orderIndex) {
+        if (release.findTaskByOrderIndex(orderIndex) != null) {
+            throw new IllegalArgumentException("orderIndex is already used by another task.");
+        }
     }
 
     private void ensurePreviousTaskCompleted(Release release, Task task) {
@@ -171,24 +488,12 @@ public class ReleaseWorkflowService {
         if (previousIndex <= 0) {
             return;
         }
-        Optional<Task> previousTask = release.getTasks().stream()
-                .filter(existing -> existing.getOrderIndex() == previousIndex)
-                .findFirst();
-        if (previousTask.isEmpty()) {
+        Task previousTask = release.findTaskByOrderIndex(previousIndex);
+        if (previousTask == null) {
             throw new IllegalArgumentException("Previous task is missing; cannot start this task.");
         }
-        if (previousTask.get().getStatus() != TaskStatus.COMPLETED) {
+        if (previousTask.getStatus() != TaskStatus.COMPLETED) {
             throw new IllegalArgumentException("Previous task must be completed before starting this one.");
         }
     }
-
-    private void ensureDeveloperHasNoActiveTask(String developerId) {
-        boolean hasActiveTask = releaseRepository.findByAssigneeAndTaskStatus(developerId, TaskStatus.IN_PROCESS)
-                .stream()
-                .flatMap(release -> release.getTasks().stream())
-                .anyMatch(task -> developerId.equals(task.getAssigneeId()) && task.getStatus() == TaskStatus.IN_PROCESS);
-        if (hasActiveTask) {
-            throw new IllegalArgumentException("Developer already has a task in progress.");
-        }
-    }
 }
@@ -0,0 +1,100 @@
+package com.cs544.release.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.model.SchedulerLease;
+import com.cs544.release.repository.SchedulerLeaseRepository;
+
+@Component
+public class SchedulerLeaseManager {
+    private final SchedulerLeaseRepository leaseRepository;
+    private final ReleaseMetrics metrics;
+    private final String ownerId = "release-service-" + UUID.randomUUID();
+
+    public SchedulerLeaseManager(SchedulerLeaseRepository leaseRepository, ReleaseMetrics metrics) {
+        this.leaseRepository = leaseRepository;
+        this.metrics = metrics;
+    }
+
+    // After the job the lease is held for one more interval instead of being released, so replicas whose
+    // ticks fall inside the same slot skip it; the holder's own next tick re-acquires it as the owner.
+    public boolean runExclusively(String name, Duration ttl, Duration interval, Consumer<Lease> job) {
+        Instant now = Instant.now();
+        SchedulerLease acquired = leaseRepository.tryAcquire(name, ownerId, now, now.plus(ttl));
+        if (acquired == null) {
+            return false;
+        }
+        metrics.recordLeaseAcquired(name);
+        Lease lease = new Lease(name, ttl, acquired.getFencingToken(), now, acquired.getExpiresAt());
+        try {
+            job.accept(lease);
+        } finally {
+            if (!lease.lost) {
+                leaseRepository.holdUntil(name, ownerId, lease.fencingToken, Instant.now().plus(interval));
+            }
+            metrics.recordLeaseHeld(name, Duration.between(lease.acquiredAt, Instant.now()));
+        }
+        return true;
+    }
+
+    public final class Lease {
+        private final String name;
+        private final Duration ttl;
+        private final long fencingToken;
+        private final Instant acquiredAt;
+        private Instant expiresAt;
+        private boolean lost;
+
+        private Lease(String name, Duration ttl, long fencingToken, Instant acquiredAt, Instant expiresAt) {
+            this.name = name;
+            this.ttl = ttl;
+            this.fencingToken = fencingToken;
+            this.acquiredAt = acquiredAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public long fencingToken() {
+            return fencingToken;
+        }
+
+        // Renews once half of the TTL has elapsed; returns false once the lease has been taken over.
+        public boolean keepAlive() {
+            if (lost) {
+                return false;
+            }
+            Instant now = Instant.now();
+            if (now.isBefore(expiresAt.minus(ttl.dividedBy(2)))) {
+                return true;
+            }
+            SchedulerLease renewed = now.isBefore(expiresAt)
+                    ? leaseRepository.renew(name, ownerId, fencingToken, now.plus(ttl))
+                    : null;
+            if (renewed == null) {
+                lost = true;
+                metrics.recordLeaseLost(name);
+                return false;
+            }
+            expiresAt = renewed.getExpiresAt();
+            return true;
+        }
+
+        // Call inside the transaction of a write that only the holder may make: the lease document is
+        // written in the same transaction, so the write commits only while this token still holds the lease.
+        public boolean fence() {
+            if (lost) {
+                return false;
+            }
+            if (!leaseRepository.fence(name, ownerId, fencingToken)) {
+                lost = true;
+                metrics.recordLeaseLost(name);
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.cs544.release.event.EventEnvelope;
@@ -12,10 +11,10 @@ import com.cs544.release.event.SystemErrorEvent;
 
 @Service
 public class SystemErrorPublisher {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaEventPublisher eventPublisher;
 
-    public SystemErrorPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public SystemErrorPublisher(KafkaEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
     }
 
     public void publish(String message) {
@@ -28,6 +27,6 @@ public class SystemErrorPublisher {
                 Map.of("schema", "v1"),
                 payload
         );
-        kafkaTemplate.send("system.errors", envelope.eventType(), envelope);
+        eventPublisher.publish("system.errors", envelope.source(), envelope);
     }
 }
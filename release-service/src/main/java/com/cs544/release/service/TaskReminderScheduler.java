@@ -2,61 +2,84 @@ package com.cs544.release.service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
 
-import com.cs544.release.model.Release;
 import com.cs544.release.model.Task;
-import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
 import com.cs544.release.repository.ReleaseRepository;
 
 @Component
 public class TaskReminderScheduler {
+    private static final String LEASE_NAME = "stale-task-reminders";
+
     private final ReleaseRepository releaseRepository;
     private final ReleaseEventProducer eventProducer;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionOperations transactions;
+    private final Duration leaseTtl;
     private final long staleThresholdHours;
     private final long reminderIntervalMs;
-    private final Map<String, Instant> lastReminderSent = new ConcurrentHashMap<>();
+    private final int scanBatchSize;
 
     public TaskReminderScheduler(
             ReleaseRepository releaseRepository,
             ReleaseEventProducer eventProducer,
+            SchedulerLeaseManager leaseManager,
+            TransactionOperations transactions,
+            @Value("${release.scheduler.lease-ttl-ms:120000}") long leaseTtlMs,
             @Value("${release.tasks.stale-threshold-hours:48}") long staleThresholdHours,
-            @Value("${release.tasks.reminder-interval-ms:3600000}") long reminderIntervalMs
+            @Value("${release.tasks.reminder-interval-ms:3600000}") long reminderIntervalMs,
+            @Value("${release.tasks.stale-scan-batch-size:100}") int scanBatchSize
     ) {
         this.releaseRepository = releaseRepository;
         this.eventProducer = eventProducer;
+        this.leaseManager = leaseManager;
+        this.transactions = transactions;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
         this.staleThresholdHours = staleThresholdHours;
         this.reminderIntervalMs = reminderIntervalMs;
+        this.scanBatchSize = scanBatchSize;
     }
 
     @Scheduled(fixedDelayString = "${release.tasks.reminder-interval-ms:3600000}")
     public void sendStaleTaskReminders() {
+        leaseManager.runExclusively(
+                LEASE_NAME, leaseTtl, Duration.ofMillis(reminderIntervalMs), this::scanStaleTasks);
+    }
+
+    private void scanStaleTasks(SchedulerLeaseManager.Lease lease) {
         Instant cutoff = Instant.now().minus(Duration.ofHours(staleThresholdHours));
         Instant reminderCutoff = Instant.now().minusMillis(reminderIntervalMs);
 
-        for (Release release : releaseRepository.findAll()) {
-            if (release.getTasks() == null) {
-                continue;
-            }
-            for (Task task : release.getTasks()) {
-                if (task.getStatus() != TaskStatus.IN_PROCESS) {
-                    continue;
-                }
-                Instant updatedAt = task.getUpdatedAt();
-                if (updatedAt == null || updatedAt.isAfter(cutoff)) {
-                    continue;
-                }
-                Instant lastSent = lastReminderSent.get(task.getId());
-                if (lastSent != null && lastSent.isAfter(reminderCutoff)) {
-                    continue;
+        try (Stream<TaskWithRelease> staleTasks =
+                     releaseRepository.streamStaleTasks(cutoff, reminderCutoff, scanBatchSize)) {
+            Iterator<TaskWithRelease> iterator = staleTasks.iterator();
+            while (iterator.hasNext() && lease.keepAlive()) {
+                TaskWithRelease stale = iterator.next();
+                Task task = stale.task();
+                // Claim the reminder first so an overlapping scan cannot send it twice, and only under the
+                // lease this scan started with.
+                try {
+                    transactions.executeWithoutResult(status -> {
+                        if (!lease.fence()) {
+                            return;
+                        }
+                        boolean claimed = releaseRepository.markReminderSent(
+                                stale.releaseId(), task.getId(), task.getLastReminderAt(), Instant.now());
+                        if (claimed) {
+                            eventProducer.publishStaleTaskDetected(stale.releaseId(), task);
+                        }
+                    });
+                } catch (OptimisticLockingFailureException ex) {
+                    // The task changed or the lease was taken over meanwhile; the next fence() tells which.
                 }
-                eventProducer.publishStaleTaskDetected(release, task);
-                lastReminderSent.put(task.getId(), Instant.now());
             }
         }
     }
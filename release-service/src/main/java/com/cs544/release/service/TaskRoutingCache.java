@@ -0,0 +1,33 @@
+package com.cs544.release.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Component
+public class TaskRoutingCache {
+    private final Cache<String, String> releaseIdsByTaskId;
+    private final ReleaseMetrics metrics;
+
+    public TaskRoutingCache(
+            ReleaseMetrics metrics,
+            @Value("${release.tasks.routing-cache-size:10000}") long maximumSize
+    ) {
+        this.metrics = metrics;
+        this.releaseIdsByTaskId = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maximumSize))
+                .build();
+    }
+
+    public String releaseIdFor(String taskId) {
+        String releaseId = releaseIdsByTaskId.getIfPresent(taskId);
+        metrics.recordTaskRoutingLookup(releaseId != null);
+        return releaseId;
+    }
+
+    public void remember(String taskId, String releaseId) {
+        releaseIdsByTaskId.put(taskId, releaseId);
+    }
+}
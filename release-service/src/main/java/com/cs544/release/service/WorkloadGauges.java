@@ -0,0 +1,35 @@
+package com.cs544.release.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cs544.release.repository.DeveloperActiveTaskRepository;
+import com.cs544.release.repository.ReleaseRepository;
+
+// Reads the active-developer and tasks-by-status gauges from MongoDB instead of counting this replica's own
+// writes, so they stay correct across replicas and restarts. Each refresh counts developer_active_task and
+// sums the per-release status counters.
+@Component
+public class WorkloadGauges {
+    private final DeveloperActiveTaskRepository activeTaskRepository;
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseMetrics metrics;
+
+    public WorkloadGauges(
+            DeveloperActiveTaskRepository activeTaskRepository,
+            ReleaseRepository releaseRepository,
+            ReleaseMetrics metrics
+    ) {
+        this.activeTaskRepository = activeTaskRepository;
+        this.releaseRepository = releaseRepository;
+        this.metrics = metrics;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${release.metrics.workload-refresh-ms:30000}",
+            initialDelayString = "${release.metrics.workload-refresh-ms:30000}"
+    )
+    public void refresh() {
+        metrics.recordWorkload(activeTaskRepository.count(), releaseRepository.countTasksByStatus());
+    }
+}
@@ -1,6 +1,7 @@
 package com.cs544.release;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import org.junit.jupiter.api.AfterAll;
@@ -24,7 +25,9 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
+import java.util.stream.Stream;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ReleaseServiceIntegrationTest {
@@ -100,6 +103,19 @@ class ReleaseServiceIntegrationTest {
                 .body("size()", equalTo(1));
     }
 
+    @Test
+    void completedReleaseAppearsInALaterIncrementalExport() {
+        Release release = repository.save(new Release("Export", "1.0"));
+        Instant exportedUpTo = Instant.now().plusSeconds(60);
+
+        assertThat(repository.markCompleted(release.getId(), release.getRevision(), exportedUpTo.plusSeconds(1)))
+                .isTrue();
+
+        try (Stream<Release> changed = repository.streamReleasesChangedSince(exportedUpTo, 100)) {
+            assertThat(changed.map(Release::getId)).contains(release.getId());
+        }
+    }
+
     private static boolean hasEnv(String key) {
         String value = System.getenv(key);
         return value != null && !value.isBlank();
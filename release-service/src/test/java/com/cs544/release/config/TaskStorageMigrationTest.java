@@ -0,0 +1,122 @@
+package com.cs544.release.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.TaskDocument;
+import com.cs544.release.service.SchedulerLeaseManager;
+import com.mongodb.client.result.UpdateResult;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStorageMigrationTest {
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Mock
+    SchedulerLeaseManager leaseManager;
+
+    @Mock
+    SchedulerLeaseManager.Lease lease;
+
+    final RecordingTransactions transactions = new RecordingTransactions();
+
+    @Test
+    void run_doesNothingWithoutDirection() {
+        assertThat(migration(TaskStorageMigration.Direction.NONE).run()).isZero();
+
+        verifyNoInteractions(leaseManager, mongoTemplate);
+    }
+
+    @Test
+    void run_skipsMigrationWhileAnotherReplicaHoldsTheLease() {
+        when(leaseManager.runExclusively(eq("task-storage-migration"), any(), eq(Duration.ZERO), any()))
+                .thenReturn(false);
+
+        assertThat(migration(TaskStorageMigration.Direction.TO_EMBEDDED).run()).isZero();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void toEmbedded_readsTasksInsideTheTransactionThatMovesThem() {
+        holdLease(true);
+        when(mongoTemplate.getCollectionName(TaskDocument.class)).thenReturn("tasks");
+        when(mongoTemplate.findDistinct(any(Query.class), eq("releaseId"), eq("tasks"), eq(String.class)))
+                .thenReturn(List.of("rel-1"));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("tasks"))).thenAnswer(invocation -> {
+            assertThat(transactions.active).isTrue();
+            return List.of(
+                    new Document("_id", "t1").append("releaseId", "rel-1").append("orderIndex", 1),
+                    new Document("_id", "t2").append("releaseId", "rel-1").append("orderIndex", 2));
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Release.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        long moved = migration(TaskStorageMigration.Direction.TO_EMBEDDED).run();
+
+        assertThat(moved).isEqualTo(2);
+        verify(mongoTemplate).remove(any(Query.class), eq("tasks"));
+    }
+
+    @Test
+    void toEmbedded_stopsOnceTheLeaseIsLost() {
+        holdLease(false);
+        when(mongoTemplate.getCollectionName(TaskDocument.class)).thenReturn("tasks");
+        when(mongoTemplate.findDistinct(any(Query.class), eq("releaseId"), eq("tasks"), eq(String.class)))
+                .thenReturn(List.of("rel-1"));
+
+        assertThat(migration(TaskStorageMigration.Direction.TO_EMBEDDED).run()).isZero();
+
+        assertThat(transactions.executions).isZero();
+    }
+
+    private void holdLease(boolean keepAlive) {
+        when(leaseManager.runExclusively(eq("task-storage-migration"), any(), eq(Duration.ZERO), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<SchedulerLeaseManager.Lease> job = invocation.getArgument(3);
+                    job.accept(lease);
+                    return true;
+                });
+        when(lease.keepAlive()).thenReturn(keepAlive);
+    }
+
+    private TaskStorageMigration migration(TaskStorageMigration.Direction direction) {
+        return new TaskStorageMigration(mongoTemplate, transactions, leaseManager, 120_000, direction);
+    }
+
+    private static final class RecordingTransactions implements TransactionOperations {
+        boolean active;
+        int executions;
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            active = true;
+            executions++;
+            try {
+                return action.doInTransaction(null);
+            } finally {
+                active = false;
+            }
+        }
+    }
+}
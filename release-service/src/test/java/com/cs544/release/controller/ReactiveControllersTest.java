@@ -0,0 +1,121 @@
+package com.cs544.release.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.repository.RevisionSummary;
+import com.cs544.release.service.ReactiveReleaseWorkflowService;
+
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveControllersTest {
+    @Mock
+    ReactiveReleaseWorkflowService workflowService;
+
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        UsernamePasswordAuthenticationToken developer = new UsernamePasswordAuthenticationToken(
+                "dev-1", null, List.of(new SimpleGrantedAuthority("ROLE_DEVELOPER")));
+        client = WebTestClient
+                .bindToController(new ReactiveReleaseController(workflowService), new ReactiveTaskController(workflowService))
+                .webFilter((exchange, chain) -> chain.filter(exchange.mutate().principal(Mono.just(developer)).build()))
+                .build();
+    }
+
+    @Test
+    void getRelease_returnsReleaseWithRevisionETag() {
+        when(workflowService.getRelease("rel-1")).thenReturn(Mono.just(release(TaskStatus.TODO)));
+
+        client.get().uri("/api/releases/rel-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("rel-1")
+                .jsonPath("$.tasks[0].id").isEqualTo("t1");
+    }
+
+    @Test
+    void getRelease_answersNotModifiedWithoutLoadingTheRelease() {
+        when(workflowService.getReleaseRevision("rel-1")).thenReturn(Mono.just(3L));
+
+        client.get().uri("/api/releases/rel-1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody().isEmpty();
+
+        verify(workflowService, never()).getRelease("rel-1");
+    }
+
+    @Test
+    void myTasks_answersNotModifiedFromTheDevelopersRevisionSummary() {
+        when(workflowService.tasksRevisionForDeveloper("dev-1")).thenReturn(Mono.just(new RevisionSummary(2, 4, 9)));
+
+        client.get().uri("/api/tasks/my")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-4-9\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2-4-9\"");
+
+        verify(workflowService, never()).listTasksForDeveloper("dev-1", null, null, 0);
+    }
+
+    @Test
+    void startTask_startsAsAuthenticatedDeveloper_andReturnsTheTask() {
+        when(workflowService.startTaskByTaskId("t1", "dev-1")).thenReturn(Mono.just(release(TaskStatus.IN_PROCESS)));
+
+        client.patch().uri("/api/tasks/t1/start")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.releaseId").isEqualTo("rel-1")
+                .jsonPath("$.task.id").isEqualTo("t1")
+                .jsonPath("$.task.status").isEqualTo("IN_PROCESS");
+    }
+
+    @Test
+    void startTask_mapsRejectedTransitionToBadRequest() {
+        when(workflowService.startTaskByTaskId("t1", "dev-1"))
+                .thenReturn(Mono.error(new IllegalArgumentException("Previous task must be completed before starting this one.")));
+
+        client.patch().uri("/api/tasks/t1/start")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Previous task must be completed before starting this one.");
+    }
+
+    private Release release(TaskStatus status) {
+        Release release = new Release("Apollo", "2.1");
+        release.setId("rel-1");
+        release.setRevision(3L);
+        release.setTasks(new ArrayList<>());
+        Task task = new Task("Task", null, "dev-1", 1);
+        task.setId("t1");
+        task.setStatus(status);
+        release.getTasks().add(task);
+        return release;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cs544.release.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.Release;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseRepositoryImplTest {
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    ReleaseRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ReleaseRepositoryImpl(mongoTemplate, TaskStorage.EMBEDDED, true);
+    }
+
+    @Test
+    void summarizeRevisions_combinesArchiveEpochWithActiveRevisions() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(ReleaseQueries.ARCHIVE_EPOCH_COLLECTION)))
+                .thenReturn(new Document("_id", ReleaseQueries.ARCHIVE_EPOCH_ID).append("epoch", 4L));
+        when(mongoTemplate.getCollectionName(Release.class)).thenReturn("releases");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("releases"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(
+                        List.of(new Document("documents", 3).append("revisions", 17L)), new Document()));
+
+        assertThat(repository.summarizeRevisions(null)).isEqualTo(new RevisionSummary(4, 3, 17));
+    }
+
+    @Test
+    void summarizeRevisions_startsAtEpochZeroBeforeAnyArchival() {
+        when(mongoTemplate.getCollectionName(Release.class)).thenReturn("releases");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("releases"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        assertThat(repository.summarizeRevisions("dev-1")).isEqualTo(new RevisionSummary(0, 0, 0));
+    }
+
+    @Test
+    void advanceArchiveEpoch_upsertsTheEpochDocument() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+
+        repository.advanceArchiveEpoch();
+
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(ReleaseQueries.ARCHIVE_EPOCH_COLLECTION));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo(ReleaseQueries.ARCHIVE_EPOCH_ID);
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class).get("epoch")).isEqualTo(1L);
+    }
+}
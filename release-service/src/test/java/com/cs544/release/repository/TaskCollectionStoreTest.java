@@ -0,0 +1,119 @@
+package com.cs544.release.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskDocument;
+import com.cs544.release.model.TaskStatus;
+import com.mongodb.client.result.UpdateResult;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCollectionStoreTest {
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    TaskCollectionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TaskCollectionStore(mongoTemplate);
+    }
+
+    @Test
+    void findForTaskTransition_loadsOnlyTheTaskAndItsPredecessor() {
+        when(mongoTemplate.findById("rel-1", Release.class)).thenReturn(release());
+        TaskDocument target = task("t3", 3, TaskStatus.TODO);
+        TaskDocument previous = task("t2", 2, TaskStatus.COMPLETED);
+        when(mongoTemplate.findOne(any(Query.class), eq(TaskDocument.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            return query.getQueryObject().containsKey("_id") ? target : previous;
+        });
+
+        Optional<Release> loaded = store.findForTaskTransition("rel-1", "t3");
+
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().getTasks()).extracting(Task::getId).containsExactly("t2", "t3");
+        verify(mongoTemplate, never()).find(any(Query.class), eq(TaskDocument.class));
+    }
+
+    @Test
+    void findForTaskTransition_skipsPredecessorLookupForFirstTask() {
+        when(mongoTemplate.findById("rel-1", Release.class)).thenReturn(release());
+        when(mongoTemplate.findOne(any(Query.class), eq(TaskDocument.class)))
+                .thenReturn(task("t1", 1, TaskStatus.TODO));
+
+        Optional<Release> loaded = store.findForTaskTransition("rel-1", "t1");
+
+        assertThat(loaded.get().getTasks()).extracting(Task::getId).containsExactly("t1");
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(TaskDocument.class));
+    }
+
+    @Test
+    void findForTaskTransition_returnsReleaseWithoutTasksWhenTaskIsMissing() {
+        when(mongoTemplate.findById("rel-1", Release.class)).thenReturn(release());
+
+        Optional<Release> loaded = store.findForTaskTransition("rel-1", "t9");
+
+        assertThat(loaded.get().getTasks()).isEmpty();
+    }
+
+    @Test
+    void findByTaskId_resolvesReleaseFromTheTask_withoutLoadingItsOtherTasks() {
+        when(mongoTemplate.findById("t2", TaskDocument.class)).thenReturn(task("t2", 2, TaskStatus.IN_PROCESS));
+        when(mongoTemplate.findById("rel-1", Release.class)).thenReturn(release());
+        when(mongoTemplate.findOne(any(Query.class), eq(TaskDocument.class)))
+                .thenReturn(task("t1", 1, TaskStatus.COMPLETED));
+
+        Optional<Release> loaded = store.findByTaskId("t2");
+
+        assertThat(loaded.get().getId()).isEqualTo("rel-1");
+        assertThat(loaded.get().findTask("t2").getStatus()).isEqualTo(TaskStatus.IN_PROCESS);
+        assertThat(loaded.get().findTaskByOrderIndex(1).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(TaskDocument.class));
+    }
+
+    @Test
+    void appendTasks_reportsTakenOrderIndexFromTheUniqueIndex() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Release.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.insertAll(any())).thenThrow(new DuplicateKeyException("E11000 releaseId_orderIndex"));
+
+        assertThatThrownBy(() -> store.appendTasks("rel-1", List.of(new Task("Dup", null, "dev-1", 2)), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("orderIndex is already used by another task.");
+    }
+
+    private Release release() {
+        Release release = new Release("Apollo", "2.1");
+        release.setId("rel-1");
+        return release;
+    }
+
+    private TaskDocument task(String id, int orderIndex, TaskStatus status) {
+        Task task = new Task("Task " + orderIndex, null, "dev-1", orderIndex);
+        task.setId(id);
+        task.setStatus(status);
+        return TaskDocument.of("rel-1", task);
+    }
+}
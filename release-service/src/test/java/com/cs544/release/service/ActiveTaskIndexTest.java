@@ -0,0 +1,121 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.cs544.release.model.DeveloperActiveTask;
+import com.cs544.release.model.Release;
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.repository.DeveloperActiveTaskRepository;
+import com.cs544.release.repository.ReleaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveTaskIndexTest {
+    @Mock
+    DeveloperActiveTaskRepository activeTaskRepository;
+
+    @Mock
+    ReleaseRepository releaseRepository;
+
+    ActiveTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveTaskIndex(activeTaskRepository, releaseRepository, 30_000);
+    }
+
+    // Request A has claimed t1 but not yet moved it to IN_PROCESS when request B tries to claim t2.
+    @Test
+    void claim_keepsFreshClaimWhoseTaskIsNotStartedYet() {
+        DeveloperActiveTask inFlight = new DeveloperActiveTask("dev-1", "rel-1", "t1", Instant.now());
+        when(activeTaskRepository.insert(any(DeveloperActiveTask.class)))
+                .thenThrow(new DuplicateKeyException("dev-1"));
+        when(activeTaskRepository.findById("dev-1")).thenReturn(Optional.of(inFlight));
+
+        assertThat(index.claim("dev-1", "rel-1", "t2")).isFalse();
+
+        verify(releaseRepository, never()).findByTaskId(anyString());
+        verify(activeTaskRepository, never()).deleteByDeveloperIdAndTaskIdAndStartedAtBefore(
+                anyString(), anyString(), any(Instant.class));
+        verify(activeTaskRepository, never()).deleteByDeveloperIdAndTaskId(anyString(), anyString());
+    }
+
+    @Test
+    void claim_reclaimsEntryOlderThanGrace_whoseTaskNeverStarted() {
+        DeveloperActiveTask abandoned = new DeveloperActiveTask(
+                "dev-1", "rel-1", "t1", Instant.now().minus(Duration.ofMinutes(5)));
+        when(activeTaskRepository.insert(any(DeveloperActiveTask.class)))
+                .thenThrow(new DuplicateKeyException("dev-1"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(activeTaskRepository.findById("dev-1")).thenReturn(Optional.of(abandoned));
+        when(releaseRepository.findByTaskId("t1")).thenReturn(Optional.of(releaseWith("t1", TaskStatus.TODO)));
+        when(activeTaskRepository.deleteByDeveloperIdAndTaskIdAndStartedAtBefore(
+                eq("dev-1"), eq("t1"), any(Instant.class))).thenReturn(1L);
+
+        assertThat(index.claim("dev-1", "rel-1", "t2")).isTrue();
+
+        verify(activeTaskRepository, times(2)).insert(any(DeveloperActiveTask.class));
+    }
+
+    @Test
+    void claim_keepsEntryOlderThanGrace_whenItsTaskIsInProcess() {
+        DeveloperActiveTask active = new DeveloperActiveTask(
+                "dev-1", "rel-1", "t1", Instant.now().minus(Duration.ofHours(2)));
+        when(activeTaskRepository.insert(any(DeveloperActiveTask.class)))
+                .thenThrow(new DuplicateKeyException("dev-1"));
+        when(activeTaskRepository.findById("dev-1")).thenReturn(Optional.of(active));
+        when(releaseRepository.findByTaskId("t1")).thenReturn(Optional.of(releaseWith("t1", TaskStatus.IN_PROCESS)));
+
+        assertThat(index.claim("dev-1", "rel-1", "t2")).isFalse();
+
+        verify(activeTaskRepository, never()).deleteByDeveloperIdAndTaskIdAndStartedAtBefore(
+                anyString(), anyString(), any(Instant.class));
+    }
+
+    // The entry was replaced by a fresh claim between the read and the conditional delete.
+    @Test
+    void claim_doesNotInsertWhenConditionalDeleteMatchesNothing() {
+        DeveloperActiveTask abandoned = new DeveloperActiveTask(
+                "dev-1", "rel-1", "t1", Instant.now().minus(Duration.ofMinutes(5)));
+        when(activeTaskRepository.insert(any(DeveloperActiveTask.class)))
+                .thenThrow(new DuplicateKeyException("dev-1"));
+        when(activeTaskRepository.findById("dev-1")).thenReturn(Optional.of(abandoned));
+        when(releaseRepository.findByTaskId("t1")).thenReturn(Optional.of(releaseWith("t1", TaskStatus.TODO)));
+        when(activeTaskRepository.deleteByDeveloperIdAndTaskIdAndStartedAtBefore(
+                eq("dev-1"), eq("t1"), any(Instant.class))).thenReturn(0L);
+
+        assertThat(index.claim("dev-1", "rel-1", "t2")).isFalse();
+
+        verify(activeTaskRepository, times(1)).insert(any(DeveloperActiveTask.class));
+    }
+
+    private Release releaseWith(String taskId, TaskStatus status) {
+        Release release = new Release("Apollo", "2.1");
+        release.setId("rel-1");
+        release.setTasks(new ArrayList<>());
+        Task task = new Task("Task", null, "dev-1", 1);
+        task.setId(taskId);
+        task.setStatus(status);
+        release.getTasks().add(task);
+        return release;
+    }
+}
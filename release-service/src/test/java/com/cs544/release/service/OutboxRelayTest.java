@@ -0,0 +1,186 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.cs544.release.model.OutboxEvent;
+import com.cs544.release.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final String TOPIC = "release.events";
+
+    @Mock
+    OutboxEventRepository outboxRepository;
+
+    @Mock
+    KafkaEventPublisher eventPublisher;
+
+    @Mock
+    SchedulerLeaseManager leaseManager;
+
+    @Mock
+    SchedulerLeaseManager.Lease lease;
+
+    @Mock
+    ReleaseMetrics metrics;
+
+    OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, eventPublisher, new ObjectMapper(), leaseManager, metrics,
+                120_000, 200, 100, 1_000, 1_000, 4_000);
+        when(leaseManager.runExclusively(eq("release-outbox-relay"), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<SchedulerLeaseManager.Lease> job = invocation.getArgument(3);
+            job.accept(lease);
+            return true;
+        });
+        when(lease.keepAlive()).thenReturn(true);
+    }
+
+    @Test
+    void flush_stopsSendingReleaseAfterItsFirstFailure_andDeliversOtherReleases() {
+        OutboxEvent first = event("e1", "rel-1", "TaskStarted");
+        OutboxEvent second = event("e2", "rel-1", "TaskCompleted");
+        OutboxEvent other = event("e3", "rel-2", "TaskStarted");
+        when(outboxRepository.count()).thenReturn(3L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class)))
+                .thenReturn(List.of(first, second, other))
+                .thenReturn(List.of());
+        when(eventPublisher.send(eq(TOPIC), eq("rel-1"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker rejected")));
+        when(eventPublisher.send(eq(TOPIC), eq("rel-2"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.flush();
+
+        verify(eventPublisher, never()).send(eq(TOPIC), eq("rel-1"), eq("TaskCompleted"), any());
+        verify(outboxRepository).deleteAllById(List.of("e3"));
+        verify(outboxRepository).recordFailedAttempt(eq("e1"), any(Instant.class), contains("broker rejected"));
+        verify(outboxRepository, never()).recordFailedAttempt(eq("e2"), any(), any());
+    }
+
+    @Test
+    void flush_pagesPastReleaseWaitingForRetry() {
+        OutboxEvent waiting = event("e1", "rel-1", "TaskStarted");
+        waiting.setAttempts(1);
+        waiting.setNextAttemptAt(Instant.now().plus(Duration.ofMinutes(1)));
+        OutboxEvent behindIt = event("e2", "rel-1", "TaskCompleted");
+        OutboxEvent other = event("e3", "rel-2", "TaskStarted");
+        when(outboxRepository.count()).thenReturn(3L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class)))
+                .thenReturn(List.of(waiting, behindIt))
+                .thenAnswer(invocation -> {
+                    Collection<String> excluded = invocation.getArgument(0);
+                    return excluded.contains("rel-1") ? List.of(other) : List.of(waiting, behindIt, other);
+                })
+                .thenReturn(List.of());
+        when(eventPublisher.send(eq(TOPIC), eq("rel-2"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.flush();
+
+        verify(eventPublisher, never()).send(eq(TOPIC), eq("rel-1"), anyString(), any());
+        verify(outboxRepository).deleteAllById(List.of());
+        verify(outboxRepository).deleteAllById(List.of("e3"));
+        verify(outboxRepository, never()).recordFailedAttempt(anyString(), any(), any());
+    }
+
+    @Test
+    void flush_deadLettersEventKafkaRejectsAsTooLarge_onItsFirstAttempt() {
+        OutboxEvent poisoned = event("e1", "rel-1", "TaskStarted");
+        when(outboxRepository.count()).thenReturn(1L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class))).thenReturn(List.of(poisoned));
+        when(eventPublisher.send(eq(TOPIC), eq("rel-1"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("record too large")));
+
+        relay.flush();
+
+        verify(outboxRepository).deadLetter(eq(poisoned), contains("record too large"), any(Instant.class));
+        verify(metrics).recordOutboxDeadLettered("TaskStarted");
+        verify(outboxRepository, never()).recordFailedAttempt(anyString(), any(), any());
+    }
+
+    @Test
+    void flush_keepsRetryingBrokerFailures_withCappedBackoff() {
+        OutboxEvent stuck = event("e1", "rel-1", "TaskStarted");
+        stuck.setAttempts(30);
+        when(outboxRepository.count()).thenReturn(1L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class))).thenReturn(List.of(stuck));
+        when(eventPublisher.send(eq(TOPIC), eq("rel-1"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.flush();
+
+        ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).recordFailedAttempt(eq("e1"), nextAttempt.capture(), contains("broker down"));
+        assertThat(nextAttempt.getValue()).isBefore(Instant.now().plusMillis(4_001));
+        verify(outboxRepository, never()).deadLetter(any(), any(), any());
+        verify(metrics).recordOutboxDeliveryFailure("TaskStarted");
+    }
+
+    @Test
+    void flush_stopsWhenNoEventOfThePageGetsThrough() {
+        OutboxEvent first = event("e1", "rel-1", "TaskStarted");
+        OutboxEvent second = event("e2", "rel-2", "TaskStarted");
+        when(outboxRepository.count()).thenReturn(5L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(eventPublisher.send(eq(TOPIC), anyString(), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.flush();
+
+        verify(outboxRepository, times(1)).findByAggregateIdNotIn(any(), any(Pageable.class));
+        verify(outboxRepository, times(2)).recordFailedAttempt(anyString(), any(Instant.class), contains("broker down"));
+        verify(outboxRepository).deleteAllById(List.of());
+    }
+
+    @Test
+    void flush_doublesRetryBackoffPerAttempt() {
+        OutboxEvent retried = event("e1", "rel-1", "TaskStarted");
+        retried.setAttempts(1);
+        when(outboxRepository.count()).thenReturn(1L);
+        when(outboxRepository.findByAggregateIdNotIn(any(), any(Pageable.class))).thenReturn(List.of(retried));
+        when(eventPublisher.send(eq(TOPIC), eq("rel-1"), eq("TaskStarted"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        Instant before = Instant.now();
+
+        relay.flush();
+
+        ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).recordFailedAttempt(eq("e1"), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusMillis(2_000));
+    }
+
+    private OutboxEvent event(String id, String releaseId, String eventType) {
+        OutboxEvent event = new OutboxEvent(
+                "evt-" + id, releaseId, eventType, "{\"eventType\":\"" + eventType + "\"}", Instant.now());
+        event.setId(id);
+        return event;
+    }
+}
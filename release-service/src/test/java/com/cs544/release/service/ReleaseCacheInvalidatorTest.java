@@ -0,0 +1,69 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cs544.release.model.Release;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseCacheInvalidatorTest {
+    @Mock
+    ReleaseMetrics metrics;
+
+    ReleaseCache cache;
+
+    ReleaseCacheInvalidator invalidator;
+
+    final AtomicInteger loads = new AtomicInteger();
+
+    final Function<String, Release> loader = id -> {
+        loads.incrementAndGet();
+        Release release = new Release("Apollo", "2.1");
+        release.setId(id);
+        return release;
+    };
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReleaseCache(metrics, new SimpleMeterRegistry(), true, 60_000, 100);
+        invalidator = new ReleaseCacheInvalidator(cache);
+    }
+
+    // A write on another replica only reaches this one through its release event.
+    @Test
+    void onReleaseEvent_evictsTheReleaseNamedByTheRecordKey() {
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        invalidator.onReleaseEvent(record("rel-1"));
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onReleaseEvent_ignoresRecordsWithoutKey() {
+        cache.get("rel-1", loader);
+
+        invalidator.onReleaseEvent(record(null));
+        cache.get("rel-1", loader);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private ConsumerRecord<String, byte[]> record(String key) {
+        return new ConsumerRecord<>("release.events", 0, 0L, key, new byte[0]);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cs544.release.model.Release;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseCacheTest {
+    @Mock
+    ReleaseMetrics metrics;
+
+    final AtomicInteger loads = new AtomicInteger();
+
+    final Function<String, Release> loader = id -> {
+        loads.incrementAndGet();
+        Release release = new Release("Apollo", "2.1");
+        release.setId(id);
+        return release;
+    };
+
+    @Test
+    void get_loadsOnce_andServesLaterReadsFromTheCache() {
+        ReleaseCache cache = enabledCache();
+
+        Release first = cache.get("rel-1", loader);
+        Release second = cache.get("rel-1", loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidate_makesNextReadLoadAgain() {
+        ReleaseCache cache = enabledCache();
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        cache.invalidate("rel-1");
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        assertThat(loads).hasValue(3);
+        verify(metrics).recordReleaseCacheInvalidation("local");
+    }
+
+    @Test
+    void invalidateAll_dropsEveryEntry() {
+        ReleaseCache cache = enabledCache();
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        cache.invalidateAll();
+        cache.get("rel-1", loader);
+        cache.get("rel-2", loader);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void invalidateFromEvent_evictsAndRecordsEventInvalidation() {
+        ReleaseCache cache = enabledCache();
+        cache.get("rel-1", loader);
+
+        cache.invalidateFromEvent("rel-1", Instant.now().minusMillis(50));
+        cache.get("rel-1", loader);
+
+        assertThat(loads).hasValue(2);
+        verify(metrics).recordReleaseCacheInvalidation("event");
+        verify(metrics).recordReleaseCacheInvalidationLag(any());
+    }
+
+    @Test
+    void disabledCache_loadsEveryRead_andIgnoresInvalidations() {
+        ReleaseCache cache = new ReleaseCache(metrics, new SimpleMeterRegistry(), false, 60_000, 100);
+
+        cache.get("rel-1", loader);
+        cache.get("rel-1", loader);
+        cache.invalidate("rel-1");
+        cache.invalidateFromEvent("rel-1", Instant.now());
+
+        assertThat(loads).hasValue(2);
+        verify(metrics, never()).recordReleaseCacheInvalidation(any());
+        verify(metrics, never()).recordReleaseCacheEntryAge(any());
+    }
+
+    private ReleaseCache enabledCache() {
+        return new ReleaseCache(metrics, new SimpleMeterRegistry(), true, 60_000, 100);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cs544.release.model.Release;
+import com.cs544.release.repository.ReleaseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseExportServiceTest {
+    @Mock
+    ReleaseRepository releaseRepository;
+
+    ObjectMapper objectMapper;
+
+    ReleaseExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ReleaseExportService(releaseRepository, objectMapper, 2);
+    }
+
+    @Test
+    void exportNdjson_writesOneJsonDocumentPerLine_andClosesTheCursor() throws Exception {
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(releaseRepository.streamReleasesChangedSince(since, 2)).thenReturn(
+                Stream.of(release("rel-1", "Apollo"), release("rel-2", "Gemini"), release("rel-3", "Mercury"))
+                        .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportNdjson(since, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(written).isEqualTo(3);
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertThat(line.get("id").asText()).isEqualTo("rel-" + (i + 1));
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void exportNdjson_writesNothingWhenNoReleaseChanged() throws Exception {
+        when(releaseRepository.streamReleasesChangedSince(null, 2)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportNdjson(null, out);
+
+        assertThat(written).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private Release release(String id, String name) {
+        Release release = new Release(name, "1.0");
+        release.setId(id);
+        return release;
+    }
+}
@@ -3,7 +3,11 @@ package com.cs544.release.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,16 +19,22 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.cs544.release.model.Release;
+import com.cs544.release.model.ReleaseSummary;
 import com.cs544.release.model.Task;
 import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+import com.cs544.release.repository.KeysetCursor;
 import com.cs544.release.repository.ReleaseRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class ReleaseWorkflowServiceTest {
     @Mock
@@ -33,13 +43,25 @@ class ReleaseWorkflowServiceTest {
     @Mock
     ReleaseEventProducer eventProducer;
 
-    @InjectMocks
+    @Mock
+    ReleaseMetrics metrics;
+
+    @Mock
+    ActiveTaskIndex activeTaskIndex;
+
+    TaskRoutingCache taskRouting;
+
     ReleaseWorkflowService service;
 
     Release release;
 
     @BeforeEach
     void setUp() {
+        taskRouting = new TaskRoutingCache(metrics, 100);
+        service = new ReleaseWorkflowService(
+                releaseRepository, eventProducer, metrics, activeTaskIndex, taskRouting,
+                new ReleaseCache(metrics, new SimpleMeterRegistry(), false, 0, 0),
+                TransactionOperations.withoutTransaction(), 2, 0);
         release = new Release("Apollo", "2.1");
         release.setId("rel-1");
         release.setTasks(new ArrayList<>());
@@ -61,10 +83,10 @@ class ReleaseWorkflowServiceTest {
     void addTask_reopensCompletedRelease_andPublishesHotfixEvent() {
         release.setCompleted(true);
         release.setCompletedAt(Instant.parse("2025-01-01T00:00:00Z"));
-        when(releaseRepository.findById("rel-1")).thenReturn(Optional.of(release));
-        when(releaseRepository.save(any(Release.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(releaseRepository.findForTaskAppend("rel-1")).thenReturn(Optional.of(release));
 
         Task task = new Task("Hotfix", "Urgent fix", "dev-1", 1);
+        when(releaseRepository.appendTask("rel-1", task, true)).thenReturn(true);
         Release updated = service.addTask("rel-1", task);
 
         assertThat(updated.isCompleted()).isFalse();
@@ -72,6 +94,121 @@ class ReleaseWorkflowServiceTest {
         verify(eventProducer).publishHotfixTaskAdded(updated, task);
         assertThat(updated.getTasks()).hasSize(1);
         assertThat(updated.getTasks().get(0).getTitle()).isEqualTo("Hotfix");
+        verify(releaseRepository, never()).save(any(Release.class));
+    }
+
+    @Test
+    void addTask_restoresArchivedReleaseBeforeAppending() {
+        release.setCompleted(true);
+        release.setArchivedAt(Instant.parse("2025-06-01T00:00:00Z"));
+        when(releaseRepository.findForTaskAppend("rel-1")).thenReturn(Optional.of(release));
+        when(releaseRepository.restore("rel-1")).thenReturn(true);
+
+        Task task = new Task("Hotfix", "Urgent fix", "dev-1", 1);
+        when(releaseRepository.appendTask("rel-1", task, true)).thenReturn(true);
+        Release updated = service.addTask("rel-1", task);
+
+        InOrder order = inOrder(releaseRepository);
+        order.verify(releaseRepository).restore("rel-1");
+        order.verify(releaseRepository).appendTask("rel-1", task, true);
+        assertThat(updated.getArchivedAt()).isNull();
+        assertThat(updated.isCompleted()).isFalse();
+    }
+
+    @Test
+    void addTasks_appendsBatchInOneWrite_andKeepsHotfixSemantics() {
+        release.setCompleted(true);
+        release.getTasks().add(task("t1", "dev-1", 1, TaskStatus.COMPLETED));
+        when(releaseRepository.findForTaskAppend("rel-1")).thenReturn(Optional.of(release));
+        List<Task> batch = List.of(new Task("B", null, "dev-2", 3), new Task("A", null, "dev-1", 2));
+        when(releaseRepository.appendTasks("rel-1", batch, true)).thenReturn(true);
+
+        Release updated = service.addTasks("rel-1", batch);
+
+        assertThat(updated.isCompleted()).isFalse();
+        assertThat(updated.getTasks()).extracting(Task::getOrderIndex).containsExactly(1, 2, 3);
+        assertThat(updated.getTodoCount()).isEqualTo(2);
+        verify(eventProducer).publishTasksAssigned(updated, batch, true);
+    }
+
+    @Test
+    void addTasks_rejectsOrderIndexAlreadyUsed_beforeWriting() {
+        release.getTasks().add(task("t1", "dev-1", 1, TaskStatus.TODO));
+        when(releaseRepository.findForTaskAppend("rel-1")).thenReturn(Optional.of(release));
+
+        assertThatThrownBy(() -> service.addTasks("rel-1", List.of(new Task("Dup", null, "dev-1", 1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("orderIndex 1 is already used by another task.");
+        verify(releaseRepository, never()).appendTasks(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void startTask_appliesConditionalUpdate_andPublishesEvent() {
+        Task task1 = task("t1", "dev-1", 1, TaskStatus.TODO);
+        release.setTasks(List.of(task1));
+        when(releaseRepository.findForTaskTransition("rel-1", "t1")).thenReturn(Optional.of(release));
+        when(activeTaskIndex.claim("dev-1", "rel-1", "t1")).thenReturn(true);
+        when(releaseRepository.transitionTask(eq("rel-1"), eq("t1"), eq("dev-1"),
+                eq(TaskStatus.TODO), eq(TaskStatus.IN_PROCESS), any(Instant.class))).thenReturn(true);
+
+        Release updated = service.startTask("rel-1", "t1", "dev-1");
+
+        assertThat(updated.getTasks().get(0).getStatus()).isEqualTo(TaskStatus.IN_PROCESS);
+        verify(eventProducer).publishTaskStarted(updated, task1);
+        verify(releaseRepository, never()).save(any(Release.class));
+    }
+
+    @Test
+    void completeTaskByTaskId_readsReleaseOnce_andRoutesLaterCallsThroughCache() {
+        Task task1 = task("t1", "dev-1", 1, TaskStatus.IN_PROCESS);
+        release.setTasks(List.of(task1));
+        when(releaseRepository.findByTaskId("t1")).thenReturn(Optional.of(release));
+        when(releaseRepository.transitionTask(eq("rel-1"), eq("t1"), eq("dev-1"),
+                eq(TaskStatus.IN_PROCESS), eq(TaskStatus.COMPLETED), any(Instant.class))).thenReturn(true);
+
+        service.completeTaskByTaskId("t1", "dev-1");
+
+        verify(releaseRepository, never()).findById(any());
+        verify(releaseRepository, never()).findForTaskTransition(any(), any());
+        verify(metrics).recordTaskRoutingLookup(false);
+        assertThat(taskRouting.releaseIdFor("t1")).isEqualTo("rel-1");
+    }
+
+    @Test
+    void completeTask_retriesConflict_andRevalidatesAgainstFreshState() {
+        Task task1 = task("t1", "dev-1", 1, TaskStatus.IN_PROCESS);
+        release.setTasks(List.of(task1));
+        Release reloaded = new Release("Apollo", "2.1");
+        reloaded.setId("rel-1");
+        reloaded.setTasks(List.of(task("t1", "dev-1", 1, TaskStatus.COMPLETED)));
+        when(releaseRepository.findForTaskTransition("rel-1", "t1"))
+                .thenReturn(Optional.of(release), Optional.of(reloaded));
+        when(releaseRepository.transitionTask(eq("rel-1"), eq("t1"), eq("dev-1"),
+                eq(TaskStatus.IN_PROCESS), eq(TaskStatus.COMPLETED), any(Instant.class))).thenReturn(false);
+
+        assertThatThrownBy(() -> service.completeTask("rel-1", "t1", "dev-1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Task must be IN_PROCESS before it can be completed.");
+        verify(metrics).recordWriteConflict("completeTask");
+        verify(metrics).recordWriteRetry("completeTask");
+        verify(eventProducer, never()).publishTaskCompleted(any(Release.class), any(Task.class));
+    }
+
+    @Test
+    void completeRelease_givesUpAfterMaxRetries() {
+        when(releaseRepository.findProgress("rel-1")).thenAnswer(invocation -> {
+            Release fresh = new Release("Apollo", "2.1");
+            fresh.setId("rel-1");
+            fresh.setCompletedCount(1);
+            return Optional.of(fresh);
+        });
+        when(releaseRepository.markCompleted(eq("rel-1"), any(), any(Instant.class))).thenReturn(false);
+
+        assertThatThrownBy(() -> service.completeRelease("rel-1"))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(releaseRepository, times(3)).markCompleted(eq("rel-1"), any(), any(Instant.class));
+        verify(metrics, times(3)).recordWriteConflict("completeRelease");
+        verify(metrics, times(2)).recordWriteRetry("completeRelease");
     }
 
     @Test
@@ -79,7 +216,7 @@ class ReleaseWorkflowServiceTest {
         Task task1 = task("t1", "dev-1", 1, TaskStatus.TODO);
         Task task2 = task("t2", "dev-1", 2, TaskStatus.TODO);
         release.setTasks(List.of(task1, task2));
-        when(releaseRepository.findById("rel-1")).thenReturn(Optional.of(release));
+        when(releaseRepository.findForTaskTransition("rel-1", "t2")).thenReturn(Optional.of(release));
 
         assertThatThrownBy(() -> service.startTask("rel-1", "t2", "dev-1"))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -93,40 +230,58 @@ class ReleaseWorkflowServiceTest {
         Task task2 = task("t2", "dev-1", 2, TaskStatus.TODO);
         release.setTasks(List.of(task1, task2));
 
-        Release otherRelease = new Release("Other", "1.0");
-        otherRelease.setId("rel-2");
-        Task active = task("t3", "dev-1", 1, TaskStatus.IN_PROCESS);
-        otherRelease.setTasks(List.of(active));
-
-        when(releaseRepository.findById("rel-1")).thenReturn(Optional.of(release));
-        when(releaseRepository.findByAssigneeAndTaskStatus("dev-1", TaskStatus.IN_PROCESS))
-                .thenReturn(List.of(otherRelease));
+        when(releaseRepository.findForTaskTransition("rel-1", "t2")).thenReturn(Optional.of(release));
+        when(activeTaskIndex.claim("dev-1", "rel-1", "t2")).thenReturn(false);
 
         assertThatThrownBy(() -> service.startTask("rel-1", "t2", "dev-1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Developer already has a task in progress.");
         verify(releaseRepository, never()).save(any(Release.class));
+        verify(releaseRepository, never()).transitionTask(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void startTask_releasesClaimWhenTaskChangedConcurrently() {
+        Task task1 = task("t1", "dev-1", 1, TaskStatus.TODO);
+        release.setTasks(List.of(task1));
+        Release reloaded = new Release("Apollo", "2.1");
+        reloaded.setId("rel-1");
+        reloaded.setTasks(List.of(task("t1", "dev-1", 1, TaskStatus.IN_PROCESS)));
+        when(releaseRepository.findForTaskTransition("rel-1", "t1"))
+                .thenReturn(Optional.of(release), Optional.of(reloaded));
+        when(activeTaskIndex.claim("dev-1", "rel-1", "t1")).thenReturn(true);
+        when(releaseRepository.transitionTask(eq("rel-1"), eq("t1"), eq("dev-1"),
+                eq(TaskStatus.TODO), eq(TaskStatus.IN_PROCESS), any(Instant.class))).thenReturn(false);
+
+        assertThatThrownBy(() -> service.startTask("rel-1", "t1", "dev-1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Task must be TODO before it can be started.");
+        verify(activeTaskIndex).release("dev-1", "t1");
     }
 
     @Test
     void completeRelease_rejectsWhenAnyTaskIncomplete() {
         Task task1 = task("t1", "dev-1", 1, TaskStatus.COMPLETED);
         Task task2 = task("t2", "dev-2", 2, TaskStatus.TODO);
-        release.setTasks(List.of(task1, task2));
-        when(releaseRepository.findById("rel-1")).thenReturn(Optional.of(release));
+        release.setTasks(new ArrayList<>());
+        release.addTasks(List.of(task1, task2));
+        when(releaseRepository.findProgress("rel-1")).thenReturn(Optional.of(release));
 
         assertThatThrownBy(() -> service.completeRelease("rel-1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("All tasks must be completed before finishing the release.");
+        verify(releaseRepository, never()).markCompleted(any(), any(), any());
     }
 
     @Test
     void completeRelease_marksCompletedAndSetsTimestamps() {
         Task task1 = task("t1", "dev-1", 1, TaskStatus.COMPLETED);
         Task task2 = task("t2", "dev-2", 2, TaskStatus.COMPLETED);
-        release.setTasks(List.of(task1, task2));
-        when(releaseRepository.findById("rel-1")).thenReturn(Optional.of(release));
-        when(releaseRepository.save(any(Release.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        release.setTasks(new ArrayList<>());
+        release.addTasks(List.of(task1, task2));
+        release.setRevision(4L);
+        when(releaseRepository.findProgress("rel-1")).thenReturn(Optional.of(release));
+        when(releaseRepository.markCompleted(eq("rel-1"), eq(4L), any(Instant.class))).thenReturn(true);
 
         Release updated = service.completeRelease("rel-1");
 
@@ -134,9 +289,66 @@ class ReleaseWorkflowServiceTest {
         assertThat(updated.getCompletedAt()).isNotNull();
         assertThat(updated.getLastCompletedAt()).isNotNull();
         assertThat(updated.getCompletedAt()).isEqualTo(updated.getLastCompletedAt());
-        ArgumentCaptor<Release> saved = ArgumentCaptor.forClass(Release.class);
-        verify(releaseRepository).save(saved.capture());
-        assertThat(saved.getValue().isCompleted()).isTrue();
+        assertThat(updated.getRevision()).isEqualTo(5L);
+        verify(releaseRepository).markCompleted("rel-1", 4L, updated.getCompletedAt());
+        verify(releaseRepository, never()).save(any(Release.class));
+    }
+
+    @Test
+    void listTasksForDeveloper_capsPageSize_andPassesFilters() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T00:00:00Z"), "t9");
+        TaskWithRelease row = new TaskWithRelease("rel-1", task("t1", "dev-1", 1, TaskStatus.TODO));
+        when(releaseRepository.findTasksForDeveloper("dev-1", TaskStatus.TODO, cursor, 200)).thenReturn(List.of(row));
+
+        ReleaseWorkflowService.TaskPage page = service.listTasksForDeveloper(
+                "dev-1", TaskStatus.TODO, cursor.encode(), 5000);
+
+        assertThat(page.items()).containsExactly(row);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listTasksForDeveloper_returnsCursorOfLastTaskForFullPages() {
+        Task first = task("t1", "dev-1", 1, TaskStatus.TODO);
+        first.setUpdatedAt(Instant.parse("2025-01-02T00:00:00Z"));
+        Task second = task("t2", "dev-1", 2, TaskStatus.TODO);
+        second.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        when(releaseRepository.findTasksForDeveloper("dev-1", null, null, 2)).thenReturn(List.of(
+                new TaskWithRelease("rel-1", first), new TaskWithRelease("rel-1", second)));
+
+        ReleaseWorkflowService.TaskPage page = service.listTasksForDeveloper("dev-1", null, null, 2);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isEqualTo(new KeysetCursor(second.getUpdatedAt(), "t2").encode());
+    }
+
+    @Test
+    void listTasksForDeveloper_withoutLimit_hasNoNextCursor() {
+        TaskWithRelease row = new TaskWithRelease("rel-1", task("t1", "dev-1", 1, TaskStatus.TODO));
+        when(releaseRepository.findTasksForDeveloper("dev-1", null, null, 0)).thenReturn(List.of(row));
+
+        ReleaseWorkflowService.TaskPage page = service.listTasksForDeveloper("dev-1", null, null, 0);
+
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listReleaseSummaries_returnsCursorOnlyForFullPages() {
+        ReleaseSummary first = new ReleaseSummary("rel-2", "B", "1.1", Instant.parse("2025-02-01T00:00:00Z"),
+                false, null, null, 2, 1, 1, 0);
+        ReleaseSummary second = new ReleaseSummary("rel-1", "A", "1.0", Instant.parse("2025-01-01T00:00:00Z"),
+                true, null, null, 1, 0, 0, 1);
+        when(releaseRepository.findReleaseSummaries(null, 2)).thenReturn(List.of(first, second));
+        KeysetCursor expected = new KeysetCursor(second.createdAt(), "rel-1");
+        when(releaseRepository.findReleaseSummaries(expected, 2)).thenReturn(List.of());
+
+        ReleaseWorkflowService.ReleasePage page = service.listReleaseSummaries(null, 2);
+        ReleaseWorkflowService.ReleasePage next = service.listReleaseSummaries(page.nextCursor(), 2);
+
+        assertThat(page.items()).containsExactly(first, second);
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(expected);
+        assertThat(next.items()).isEmpty();
+        assertThat(next.nextCursor()).isNull();
     }
 
     private Task task(String id, String assigneeId, int orderIndex, TaskStatus status) {
@@ -0,0 +1,81 @@
+package com.cs544.release.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.cs544.release.model.Task;
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.model.TaskWithRelease;
+import com.cs544.release.repository.ReleaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReminderSchedulerTest {
+    @Mock
+    ReleaseRepository releaseRepository;
+
+    @Mock
+    ReleaseEventProducer eventProducer;
+
+    @Mock
+    SchedulerLeaseManager leaseManager;
+
+    @Mock
+    SchedulerLeaseManager.Lease lease;
+
+    TaskReminderScheduler scheduler;
+
+    Task task;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TaskReminderScheduler(releaseRepository, eventProducer, leaseManager,
+                TransactionOperations.withoutTransaction(), 120_000, 48, 3_600_000, 100);
+        when(leaseManager.runExclusively(eq("stale-task-reminders"), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<SchedulerLeaseManager.Lease> job = invocation.getArgument(3);
+            job.accept(lease);
+            return true;
+        });
+        when(lease.keepAlive()).thenReturn(true);
+        task = new Task("Stale", null, "dev-1", 1);
+        task.setId("t1");
+        task.setStatus(TaskStatus.IN_PROCESS);
+        when(releaseRepository.streamStaleTasks(any(Instant.class), any(Instant.class), anyInt()))
+                .thenReturn(Stream.of(new TaskWithRelease("rel-1", task)));
+    }
+
+    @Test
+    void sendStaleTaskReminders_claimsAndPublishesUnderTheCurrentLease() {
+        when(lease.fence()).thenReturn(true);
+        when(releaseRepository.markReminderSent(eq("rel-1"), eq("t1"), isNull(), any(Instant.class))).thenReturn(true);
+
+        scheduler.sendStaleTaskReminders();
+
+        verify(eventProducer).publishStaleTaskDetected("rel-1", task);
+    }
+
+    @Test
+    void sendStaleTaskReminders_writesNothingOnceTheLeaseWasTakenOver() {
+        when(lease.fence()).thenReturn(false);
+
+        scheduler.sendStaleTaskReminders();
+
+        verify(releaseRepository, never()).markReminderSent(any(), any(), any(), any());
+        verify(eventProducer, never()).publishStaleTaskDetected(any(), any());
+    }
+}
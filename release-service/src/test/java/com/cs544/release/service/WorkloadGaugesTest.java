@@ -0,0 +1,45 @@
+package com.cs544.release.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cs544.release.model.TaskStatus;
+import com.cs544.release.repository.DeveloperActiveTaskRepository;
+import com.cs544.release.repository.ReleaseRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadGaugesTest {
+    @Mock
+    DeveloperActiveTaskRepository activeTaskRepository;
+
+    @Mock
+    ReleaseRepository releaseRepository;
+
+    @Test
+    void refresh_replacesGaugesWithTheSharedCounts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReleaseMetrics metrics = new ReleaseMetrics(registry);
+        WorkloadGauges gauges = new WorkloadGauges(activeTaskRepository, releaseRepository, metrics);
+        when(activeTaskRepository.count()).thenReturn(4L, 2L);
+        when(releaseRepository.countTasksByStatus())
+                .thenReturn(Map.of(TaskStatus.TODO, 7L, TaskStatus.IN_PROCESS, 4L))
+                .thenReturn(Map.of(TaskStatus.TODO, 7L, TaskStatus.IN_PROCESS, 2L, TaskStatus.COMPLETED, 2L));
+
+        gauges.refresh();
+        gauges.refresh();
+
+        assertThat(registry.get("active_developers_count").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("tasks_by_status").tag("status", "TODO").gauge().value()).isEqualTo(7.0);
+        assertThat(registry.get("tasks_by_status").tag("status", "IN_PROCESS").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("tasks_by_status").tag("status", "COMPLETED").gauge().value()).isEqualTo(2.0);
+    }
+}